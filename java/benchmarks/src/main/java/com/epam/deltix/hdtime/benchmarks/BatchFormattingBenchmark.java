@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdDateTimeFormatter;
+import com.epam.deltix.hdtime.HdDateTimeUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting a column of sorted timestamps into delimited text: one call per cell vs a single batch call.
+ * Scores are per batch of N values
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchFormattingBenchmark {
+    static final int N = 0x400;
+
+    @Param({
+            "yyyy-MM-dd HH:mm:ss.fffffffff",
+            "dd/MM/yyyy HH:mm:ss.fff"
+    })
+    public String format;
+
+    long[] dateTimes;
+    HdDateTimeFormatter formatter;
+    final StringBuilder sb = new StringBuilder(N * 32);
+    final char[] chars = new char[N * 32];
+
+    @Setup
+    public void setup() {
+        dateTimes = new long[N];
+        // ~100 values per second
+        long dt = DateTimeBenchmark.randomDateTimes()[0];
+        for (int i = 0; i < N; ++i)
+            dateTimes[i] = dt += 10000000 + i % 7;
+
+        formatter = HdDateTimeFormatter.of(format);
+    }
+
+    @Benchmark
+    public StringBuilder toStringPerCell() {
+        StringBuilder sb = this.sb;
+        sb.setLength(0);
+        for (int i = 0; i < N; ++i)
+            sb.append(HdDateTimeUtils.toString(dateTimes[i], format)).append('\n');
+
+        return sb;
+    }
+
+    @Benchmark
+    public StringBuilder batchToStringBuilder() {
+        sb.setLength(0);
+        return formatter.format(dateTimes, 0, N, "\n", "\n", sb);
+    }
+
+    @Benchmark
+    public int batchToChars() {
+        return formatter.format(dateTimes, 0, N, "\n", "\n", chars, 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdDateTimeUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a newline-separated column of sorted timestamps: one call per line vs a single column call.
+ * Scores are per column of N values
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ColumnParsingBenchmark {
+    static final int N = 0x400;
+
+    @Param({
+            "yyyy-MM-dd HH:mm:ss.fffffffff",
+            "dd/MM/yyyy HH:mm:ss.fff"
+    })
+    public String format;
+
+    String[] lines;
+    String text;
+    byte[] bytes;
+    final long[] values = new long[N];
+
+    @Setup
+    public void setup() {
+        // ~100 values per second
+        long dt = DateTimeBenchmark.randomDateTimes()[0];
+        lines = new String[N];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < N; ++i) {
+            lines[i] = HdDateTimeUtils.toString(dt += 10000000 + i % 7, format);
+            sb.append(lines[i]).append('\n');
+        }
+
+        text = sb.toString();
+        bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Benchmark
+    public long[] parsePerLine() throws Exception {
+        for (int i = 0; i < N; ++i)
+            values[i] = HdDateTimeUtils.parse(lines[i], format);
+
+        return values;
+    }
+
+    @Benchmark
+    public int parseColumn() {
+        return HdDateTimeUtils.parseColumn(text, 0, text.length(), '\n', format, values, 0, null);
+    }
+
+    @Benchmark
+    public int parseColumnBytes() {
+        return HdDateTimeUtils.parseColumn(bytes, 0, bytes.length, '\n', format, values, 0, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdDateTimeUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date component getters, computed arithmetically (default) vs looked up in the precomputed day table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateComponentsBenchmark {
+    private static final int N = 0x400;
+
+    // Timestamps within a few years, like a typical market data stream
+    private final long[] values = new long[N];
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        long start = HdDateTimeUtils.newInstance(2015, java.time.Month.JANUARY, 1);
+        for (int i = 0; i < N; ++i)
+            values[i] = start + (long)(rnd.nextDouble() * 5 * 365 * 86_400_000_000_000L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getYear(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getYear(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getMonth(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getMonth(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getDayOfMonth(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getDayOfMonth(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getDayOfYear(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getDayOfYear(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getDayOfWeek(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getDayOfWeek(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getAllDateComponents(Blackhole bh) {
+        for (long dt : values) {
+            bh.consume(HdDateTimeUtils.getYear(dt));
+            bh.consume(HdDateTimeUtils.getMonth(dt));
+            bh.consume(HdDateTimeUtils.getDayOfMonth(dt));
+        }
+    }
+
+    @Fork(value = 1, jvmArgsAppend = "-Dcom.epam.deltix.hdtime.dayTable=true")
+    public static class WithDayTable extends DateComponentsBenchmark {
+    }
+}
\ No newline at end of file
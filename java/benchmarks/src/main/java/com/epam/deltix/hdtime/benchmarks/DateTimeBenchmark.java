@@ -0,0 +1,186 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdDateTimeUtils;
+import com.epam.deltix.hdtime.HdTimeSpanUtils;
+import com.epam.deltix.hdtime.Resolution;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.Month;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HdDateTime getters, setters, arithmetic and rounding. See {@link JavaDateTimeBenchmark} for java.time baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateTimeBenchmark {
+    static final int N = 0x400;
+
+    final long[] values = randomDateTimes();
+
+    // Random timestamps within 2000..2030, nanosecond precision. Same sequence for all benchmarks
+    static long[] randomDateTimes() {
+        Random rnd = new Random(42);
+        long start = HdDateTimeUtils.newInstance(2000, Month.JANUARY, 1);
+        long[] values = new long[N];
+        for (int i = 0; i < N; ++i)
+            values[i] = start + (long)(rnd.nextDouble() * 30 * 365 * HdTimeSpanUtils.NANOSECONDS_IN_DAY);
+
+        return values;
+    }
+
+    // region Getters
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getYear(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getYear(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getMonth(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getMonth(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getDayOfMonth(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getDayOfMonth(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getDayOfWeek(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getDayOfWeek(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getHour(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getHour(dt));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getNanosecond(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.getNanosecond(dt));
+    }
+
+    // endregion
+
+    // region Setters
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setYear(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.setYear(dt, 2010));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setMonth(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.setMonth(dt, Month.MARCH));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setDayOfMonth(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.setDayOfMonth(dt, 15));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setDayOfWeek(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.setDayOfWeek(dt, DayOfWeek.MONDAY));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setHour(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.setHour(dt, 12));
+    }
+
+    // endregion
+
+    // region Arithmetic and rounding
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void addMonths(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.addMonths(dt, 5));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void addDays(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.addDays(dt, 5));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void addSeconds(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.addSeconds(dt, 5));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundToDay(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.roundTo(dt, Resolution.DAY));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundToMillisecond(Blackhole bh) {
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.roundTo(dt, Resolution.MILLISECOND));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundTo15Minutes(Blackhole bh) {
+        long resolution = HdTimeSpanUtils.fromMinutes(15);
+        for (long dt : values)
+            bh.consume(HdDateTimeUtils.roundTo(dt, resolution));
+    }
+
+    // endregion
+}
\ No newline at end of file
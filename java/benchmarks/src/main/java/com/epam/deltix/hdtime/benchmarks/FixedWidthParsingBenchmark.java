@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdDateTimeUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing fixed-width formats with the SWAR template vs the generic field loop
+ * ({@link Generic}, same formats with the fused templates disabled)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FixedWidthParsingBenchmark {
+    static final int N = 0x400;
+
+    @Param({
+            "yyyy-MM-dd HH:mm:ss.fffffffff",
+            "yyyyMMdd-HH:mm:ss.fff",
+            "yyyy-MM-dd'T'HH:mm:ss.ffffff'Z'"
+    })
+    public String format;
+
+    String[] strings;
+    byte[][] bytes;
+    int i;
+
+    @Setup
+    public void setup() {
+        long[] dateTimes = DateTimeBenchmark.randomDateTimes();
+        strings = new String[N];
+        bytes = new byte[N][];
+        for (int i = 0; i < N; ++i) {
+            strings[i] = HdDateTimeUtils.toString(dateTimes[i], format);
+            bytes[i] = strings[i].getBytes(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    int next() {
+        return i = (i + 1) & (N - 1);
+    }
+
+    @Benchmark
+    public long parseString() throws Exception {
+        return HdDateTimeUtils.parse(strings[next()], format);
+    }
+
+    @Benchmark
+    public long parseBytes() throws Exception {
+        byte[] src = bytes[next()];
+        return HdDateTimeUtils.parse(src, 0, src.length, format);
+    }
+
+    @Fork(value = 1, jvmArgsAppend = "-Dcom.epam.deltix.hdtime.fusedTemplates=false")
+    public static class Generic extends FixedWidthParsingBenchmark {
+    }
+}
\ No newline at end of file
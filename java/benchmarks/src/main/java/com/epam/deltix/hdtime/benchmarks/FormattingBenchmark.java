@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdDateTimeFormatter;
+import com.epam.deltix.hdtime.HdDateTimeUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HdDateTime formatting and parsing. See {@link JavaFormattingBenchmark} for java.time baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormattingBenchmark {
+    static final int N = 0x400;
+
+    // Same formats in JavaFormattingBenchmark, 'f' is replaced with 'S' to get java.time pattern
+    @Param({
+            "yyyy-MM-dd HH:mm:ss.fffffffff",
+            "yyyy-MM-dd'T'HH:mm:ss.fff",
+            "yyyyMMdd HHmmss",
+            "dd/MM/yyyy HH:mm"
+    })
+    public String format;
+
+    long[] dateTimes;
+    String[] dateTimeStrings;
+    // Increasing timestamps, ~1000 per second, as in a typical event log
+    long[] sequentialDateTimes;
+    HdDateTimeFormatter formatter;
+    HdDateTimeFormatter incrementalFormatter;
+    int i;
+
+    @Setup
+    public void setup() {
+        dateTimes = DateTimeBenchmark.randomDateTimes();
+        dateTimeStrings = new String[N];
+        for (int i = 0; i < N; ++i)
+            dateTimeStrings[i] = HdDateTimeUtils.toString(dateTimes[i], format);
+
+        sequentialDateTimes = new long[N];
+        long dt = dateTimes[0];
+        for (int i = 0; i < N; ++i)
+            sequentialDateTimes[i] = dt += 1000000 + i % 7;
+
+        formatter = HdDateTimeFormatter.of(format);
+        incrementalFormatter = formatter.incremental();
+    }
+
+    int next() {
+        return i = (i + 1) & (N - 1);
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return HdDateTimeUtils.toString(dateTimes[next()], format);
+    }
+
+    @Benchmark
+    public StringBuilder appendDateTime(SharedStringBuilder sb) {
+        return HdDateTimeUtils.appendTo(dateTimes[next()], sb.reset(), format);
+    }
+
+    @Benchmark
+    public Appendable appendDateTimeToAppendable(SharedStringBuilder sb) throws Exception {
+        return HdDateTimeUtils.appendTo(dateTimes[next()], (Appendable)sb.reset(), format);
+    }
+
+    @Benchmark
+    public ByteBuffer putDateTime(SharedByteBuffer buffer) {
+        return HdDateTimeUtils.appendTo(dateTimes[next()], buffer.reset(), format);
+    }
+
+    @Benchmark
+    public StringBuilder appendSequentialDateTime(SharedStringBuilder sb) {
+        return formatter.format(sequentialDateTimes[next()], sb.reset());
+    }
+
+    @Benchmark
+    public StringBuilder appendSequentialDateTimeIncremental(SharedStringBuilder sb) {
+        return incrementalFormatter.format(sequentialDateTimes[next()], sb.reset());
+    }
+
+    @Benchmark
+    public long parseDateTime() throws Exception {
+        return HdDateTimeUtils.parse(dateTimeStrings[next()], format);
+    }
+
+    @State(Scope.Thread)
+    public static class SharedStringBuilder {
+        final StringBuilder sb = new StringBuilder(64);
+
+        StringBuilder reset() {
+            sb.setLength(0);
+            return sb;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SharedByteBuffer {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+        ByteBuffer reset() {
+            buffer.clear();
+            return buffer;
+        }
+    }
+}
\ No newline at end of file
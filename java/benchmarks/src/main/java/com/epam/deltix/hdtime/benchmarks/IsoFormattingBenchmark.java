@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdDateTimeFormatter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting with the straight-line templates used for DEFAULT_FORMAT and ISO-8601 formats,
+ * vs the generic field loop ({@link Generic}, same formats with the fused templates disabled)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IsoFormattingBenchmark {
+    static final int N = 0x400;
+
+    @Param({
+            "yyyy-MM-dd HH:mm:ss.fffffffff",
+            "yyyy-MM-dd'T'HH:mm:ss.fff'Z'",
+            "yyyy-MM-dd'T'HH:mm:ss.ffffff",
+            "yyyy-MM-dd'T'HH:mm:ss"
+    })
+    public String format;
+
+    long[] dateTimes;
+    HdDateTimeFormatter formatter;
+    final char[] chars = new char[64];
+    final byte[] bytes = new byte[64];
+    int i;
+
+    @Setup
+    public void setup() {
+        dateTimes = DateTimeBenchmark.randomDateTimes();
+        formatter = HdDateTimeFormatter.of(format);
+    }
+
+    int next() {
+        return i = (i + 1) & (N - 1);
+    }
+
+    @Benchmark
+    public String formatString() {
+        return formatter.format(dateTimes[next()]);
+    }
+
+    @Benchmark
+    public int formatChars() {
+        return formatter.format(dateTimes[next()], chars, 0);
+    }
+
+    @Benchmark
+    public int formatBytes() {
+        return formatter.format(dateTimes[next()], bytes, 0);
+    }
+
+    @Fork(value = 1, jvmArgsAppend = { "-Dcom.epam.deltix.hdtime.fusedTemplates=false", "-Dcom.epam.deltix.hdtime.compiledTemplates=false" })
+    public static class Generic extends IsoFormattingBenchmark {
+    }
+}
\ No newline at end of file
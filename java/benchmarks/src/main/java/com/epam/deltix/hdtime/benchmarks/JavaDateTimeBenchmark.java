@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.deltix.hdtime.benchmarks.DateTimeBenchmark.N;
+
+/**
+ * java.time.LocalDateTime baseline for {@link DateTimeBenchmark}, same values and operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JavaDateTimeBenchmark {
+    final LocalDateTime[] values = new LocalDateTime[N];
+
+    @Setup
+    public void setup() {
+        long[] src = DateTimeBenchmark.randomDateTimes();
+        for (int i = 0; i < N; ++i)
+            values[i] = LocalDateTime.ofEpochSecond(Math.floorDiv(src[i], 1_000_000_000L),
+                    (int)Math.floorMod(src[i], 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    // region Getters
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getYear(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.getYear());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getMonth(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.getMonth());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getDayOfMonth(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.getDayOfMonth());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getDayOfWeek(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.getDayOfWeek());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getHour(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.getHour());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getNanosecond(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.getNano());
+    }
+
+    // endregion
+
+    // region Setters
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setYear(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.withYear(2010));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setMonth(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.withMonth(Month.MARCH.getValue()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setDayOfMonth(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.withDayOfMonth(15));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setDayOfWeek(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void setHour(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.withHour(12));
+    }
+
+    // endregion
+
+    // region Arithmetic and rounding
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void addMonths(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.plusMonths(5));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void addDays(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.plusDays(5));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void addSeconds(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.plusSeconds(5));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundToDay(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.truncatedTo(ChronoUnit.DAYS));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundToMillisecond(Blackhole bh) {
+        for (LocalDateTime dt : values)
+            bh.consume(dt.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundTo15Minutes(Blackhole bh) {
+        // truncatedTo() only supports units that divide a day, but not an arbitrary Duration
+        for (LocalDateTime dt : values)
+            bh.consume(dt.truncatedTo(ChronoUnit.HOURS).plusMinutes(dt.getMinute() / 15 * 15));
+    }
+
+    // endregion
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.deltix.hdtime.benchmarks.TimeSpanBenchmark.N;
+
+/**
+ * java.time.Duration baseline for {@link TimeSpanBenchmark}, same values and operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JavaDurationBenchmark {
+    final Duration[] values = new Duration[N];
+
+    @Setup
+    public void setup() {
+        long[] src = TimeSpanBenchmark.randomTimeSpans();
+        for (int i = 0; i < N; ++i)
+            values[i] = Duration.ofNanos(src[i]);
+    }
+
+    // region Getters
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getDays(Blackhole bh) {
+        for (Duration ts : values)
+            bh.consume(ts.toDays());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getHours(Blackhole bh) {
+        // Duration.toHoursPart() is Java 9+
+        for (Duration ts : values)
+            bh.consume(ts.toHours() % 24);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getNanoseconds(Blackhole bh) {
+        for (Duration ts : values)
+            bh.consume(ts.getNano());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void totalSeconds(Blackhole bh) {
+        for (Duration ts : values)
+            bh.consume(ts.getSeconds() + ts.getNano() * 1E-9);
+    }
+
+    // endregion
+
+    // region Arithmetic and rounding
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void add(Blackhole bh) {
+        Duration prev = Duration.ZERO;
+        for (Duration ts : values) {
+            bh.consume(ts.plus(prev));
+            prev = ts;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void addSeconds(Blackhole bh) {
+        for (Duration ts : values)
+            bh.consume(ts.plusSeconds(5));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void negate(Blackhole bh) {
+        for (Duration ts : values)
+            bh.consume(ts.negated());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundToSecond(Blackhole bh) {
+        // Duration.truncatedTo() is Java 9+
+        for (Duration ts : values)
+            bh.consume(Duration.ofSeconds(ts.getSeconds()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundTo15Minutes(Blackhole bh) {
+        long resolution = Duration.ofMinutes(15).getSeconds();
+        for (Duration ts : values)
+            bh.consume(Duration.ofSeconds(Math.floorDiv(ts.getSeconds(), resolution) * resolution));
+    }
+
+    // endregion
+}
\ No newline at end of file
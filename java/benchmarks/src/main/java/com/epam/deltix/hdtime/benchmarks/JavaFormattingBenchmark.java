@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.deltix.hdtime.benchmarks.FormattingBenchmark.N;
+
+/**
+ * java.time.format.DateTimeFormatter baseline for {@link FormattingBenchmark}, same values and formats.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JavaFormattingBenchmark {
+    @Param({
+            "yyyy-MM-dd HH:mm:ss.fffffffff",
+            "yyyy-MM-dd'T'HH:mm:ss.fff",
+            "yyyyMMdd HHmmss",
+            "dd/MM/yyyy HH:mm"
+    })
+    public String format;
+
+    DateTimeFormatter formatter;
+    LocalDateTime[] dateTimes;
+    String[] dateTimeStrings;
+    int i;
+
+    @Setup
+    public void setup() {
+        formatter = DateTimeFormatter.ofPattern(format.replace('f', 'S'));
+        long[] src = DateTimeBenchmark.randomDateTimes();
+        dateTimes = new LocalDateTime[N];
+        dateTimeStrings = new String[N];
+        for (int i = 0; i < N; ++i) {
+            dateTimes[i] = LocalDateTime.ofEpochSecond(Math.floorDiv(src[i], 1_000_000_000L),
+                    (int)Math.floorMod(src[i], 1_000_000_000L), ZoneOffset.UTC);
+            dateTimeStrings[i] = formatter.format(dateTimes[i]);
+        }
+    }
+
+    int next() {
+        return i = (i + 1) & (N - 1);
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return formatter.format(dateTimes[next()]);
+    }
+
+    @Benchmark
+    public StringBuilder appendDateTime(FormattingBenchmark.SharedStringBuilder sb) {
+        StringBuilder to = sb.reset();
+        formatter.formatTo(dateTimes[next()], to);
+        return to;
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTime() {
+        return LocalDateTime.parse(dateTimeStrings[next()], formatter);
+    }
+}
\ No newline at end of file
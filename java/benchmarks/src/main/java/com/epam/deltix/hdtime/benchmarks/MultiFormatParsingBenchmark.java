@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdDateTimeMultiParser;
+import com.epam.deltix.hdtime.HdDateTimeUtils;
+import com.epam.deltix.hdtime.ParseState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing input with mixed timestamp layouts: trying the formats one by one vs a single HdDateTimeMultiParser.
+ * Formats are listed longest first, so that trying them in order finds the same match
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiFormatParsingBenchmark {
+    static final int N = 0x400;
+
+    static final String[] FORMATS = {
+            "yyyy-MM-dd HH:mm:ss.fffffffff", "yyyyMMdd-HH:mm:ss.fff", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd"
+    };
+
+    final HdDateTimeMultiParser parser = HdDateTimeMultiParser.of(FORMATS);
+    final ParseState state = new ParseState();
+    String[] strings;
+    int i;
+
+    @Setup
+    public void setup() {
+        long[] dateTimes = DateTimeBenchmark.randomDateTimes();
+        strings = new String[N];
+        for (int i = 0; i < N; ++i)
+            strings[i] = HdDateTimeUtils.toString(dateTimes[i], FORMATS[i % FORMATS.length]);
+    }
+
+    int next() {
+        return i = (i + 1) & (N - 1);
+    }
+
+    @Benchmark
+    public long parseEachFormat() {
+        String s = strings[next()];
+        for (String format : FORMATS) {
+            try {
+                return HdDateTimeUtils.parse(s, format);
+            } catch (Exception e) {
+                // Try the next one
+            }
+        }
+
+        return HdDateTimeUtils.NULL_VALUE;
+    }
+
+    @Benchmark
+    public long tryParseEachFormat() {
+        String s = strings[next()];
+        for (String format : FORMATS) {
+            long value = HdDateTimeUtils.tryParse(s, format);
+            if (HdDateTimeUtils.NULL_VALUE != value)
+                return value;
+        }
+
+        return HdDateTimeUtils.NULL_VALUE;
+    }
+
+    @Benchmark
+    public long multiParser() {
+        return parser.tryParse(strings[next()], null, state);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdDateTimeFormatter;
+import com.epam.deltix.hdtime.HdDateTimeParser;
+import com.epam.deltix.hdtime.HdDateTimeUtils;
+import com.epam.deltix.hdtime.ParseState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting and parsing with many formats in use, so field call sites of the interpreted templates are
+ * megamorphic. Compiled templates (default) vs interpreted ({@link Interpreted})
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TemplateDispatchBenchmark {
+    static final int N = 0x400;
+
+    static final String[] FORMATS = {
+            "yyyy-MM-dd HH:mm:ss.ffffff", "yyyyMMdd HHmmss", "dd/MM/yyyy HH:mm", "yyyy.MM.dd H:m:s.fff",
+            "yyyyMMddHHmmssfffffffff", "dd.MM.yyyy", "HH:mm:ss.ff yyyy-M-d", "yyyy-MM-dd'T'HH:mm"
+    };
+
+    long[] dateTimes;
+    HdDateTimeFormatter[] formatters;
+    HdDateTimeParser[] parsers;
+    final ParseState state = new ParseState();
+    String[] strings;
+    final char[] chars = new char[64];
+    int i;
+
+    @Setup
+    public void setup() {
+        dateTimes = DateTimeBenchmark.randomDateTimes();
+        formatters = new HdDateTimeFormatter[FORMATS.length];
+        parsers = new HdDateTimeParser[FORMATS.length];
+        for (int i = 0; i < FORMATS.length; ++i) {
+            formatters[i] = HdDateTimeFormatter.of(FORMATS[i]);
+            parsers[i] = HdDateTimeParser.of(FORMATS[i]);
+        }
+
+        strings = new String[N];
+        for (int i = 0; i < N; ++i)
+            strings[i] = formatters[i % FORMATS.length].format(dateTimes[i]);
+    }
+
+    int next() {
+        return i = (i + 1) & (N - 1);
+    }
+
+    @Benchmark
+    public int format() {
+        int i = next();
+        return formatters[i % FORMATS.length].format(dateTimes[i], chars, 0);
+    }
+
+    @Benchmark
+    public long parse() throws Exception {
+        int i = next();
+        return HdDateTimeUtils.parse(strings[i], FORMATS[i % FORMATS.length]);
+    }
+
+    // No lookup by format string, no thread-local access
+    @Benchmark
+    public long parsePrecompiled() throws Exception {
+        int i = next();
+        return parsers[i % FORMATS.length].parse(strings[i], state);
+    }
+
+    @Fork(value = 1, jvmArgsAppend = "-Dcom.epam.deltix.hdtime.compiledTemplates=false")
+    public static class Interpreted extends TemplateDispatchBenchmark {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdTimeSpanUtils;
+import com.epam.deltix.hdtime.Resolution;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HdTimeSpan getters, arithmetic and rounding. See {@link JavaDurationBenchmark} for java.time baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimeSpanBenchmark {
+    static final int N = 0x400;
+
+    final long[] values = randomTimeSpans();
+
+    // Random time spans within +/-100 days, nanosecond precision. Same sequence for all benchmarks
+    static long[] randomTimeSpans() {
+        Random rnd = new Random(42);
+        long[] values = new long[N];
+        for (int i = 0; i < N; ++i)
+            values[i] = (long)((rnd.nextDouble() - 0.5) * 200 * HdTimeSpanUtils.NANOSECONDS_IN_DAY);
+
+        return values;
+    }
+
+    // region Getters
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getDays(Blackhole bh) {
+        for (long ts : values)
+            bh.consume(HdTimeSpanUtils.getDays(ts));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getHours(Blackhole bh) {
+        for (long ts : values)
+            bh.consume(HdTimeSpanUtils.getHours(ts));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void getNanoseconds(Blackhole bh) {
+        for (long ts : values)
+            bh.consume(HdTimeSpanUtils.getNanoseconds(ts));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void totalSeconds(Blackhole bh) {
+        for (long ts : values)
+            bh.consume(HdTimeSpanUtils.totalSeconds(ts));
+    }
+
+    // endregion
+
+    // region Arithmetic and rounding
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void add(Blackhole bh) {
+        long prev = 0;
+        for (long ts : values) {
+            bh.consume(HdTimeSpanUtils.add(ts, prev));
+            prev = ts;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void addSeconds(Blackhole bh) {
+        for (long ts : values)
+            bh.consume(HdTimeSpanUtils.addSeconds(ts, 5));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void negate(Blackhole bh) {
+        for (long ts : values)
+            bh.consume(HdTimeSpanUtils.negate(ts));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundToSecond(Blackhole bh) {
+        for (long ts : values)
+            bh.consume(HdTimeSpanUtils.roundTo(ts, Resolution.SECOND));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public void roundTo15Minutes(Blackhole bh) {
+        long resolution = HdTimeSpanUtils.fromMinutes(15);
+        for (long ts : values)
+            bh.consume(HdTimeSpanUtils.roundTo(ts, resolution));
+    }
+
+    // endregion
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime.benchmarks;
+
+import com.epam.deltix.hdtime.HdTimeSpanUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.deltix.hdtime.benchmarks.TimeSpanBenchmark.N;
+
+/**
+ * HdTimeSpan formatting and parsing. java.time has no Duration formatter to compare with.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimeSpanFormattingBenchmark {
+    @Param({
+            "d HH:mm:ss.fffffffff",
+            "d'T'H:m:s.ffffff",
+            "d.HH:mm:ss"
+    })
+    public String format;
+
+    long[] timeSpans;
+    String[] timeSpanStrings;
+    int i;
+
+    @Setup
+    public void setup() {
+        timeSpans = TimeSpanBenchmark.randomTimeSpans();
+        timeSpanStrings = new String[N];
+        for (int i = 0; i < N; ++i)
+            timeSpanStrings[i] = HdTimeSpanUtils.toString(timeSpans[i], format);
+    }
+
+    int next() {
+        return i = (i + 1) & (N - 1);
+    }
+
+    @Benchmark
+    public String formatTimeSpan() {
+        return HdTimeSpanUtils.toString(timeSpans[next()], format);
+    }
+
+    @Benchmark
+    public StringBuilder appendTimeSpan(FormattingBenchmark.SharedStringBuilder sb) {
+        return HdTimeSpanUtils.appendTo(timeSpans[next()], sb.reset(), format);
+    }
+
+    @Benchmark
+    public long parseTimeSpan() throws Exception {
+        return HdTimeSpanUtils.parse(timeSpanStrings[next()], format);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable Latin-1 CharSequence view over a range of byte[], ByteBuffer or off-heap memory.
+ * Lets the parse templates read binary input without decoding it into a String first. Not thread-safe.
+ */
+final class ByteSequence implements CharSequence {
+    private byte[] array;
+    private ByteBuffer buffer;
+    private long base;          // Array offset, buffer index or memory address
+    private int length;
+    // Little-endian view of the last array read in 64-bit lanes. Kept over clear(), so that parsing doesn't allocate
+    // while the same array is in use
+    private ByteBuffer arrayLanes;
+
+    ByteSequence set(byte[] src, int offset, int length) {
+        if ((offset | length | src.length - offset - length) < 0)
+            throw new IndexOutOfBoundsException();
+
+        this.array = src;
+        this.buffer = null;
+        this.base = offset;
+        this.length = length;
+        return this;
+    }
+
+    ByteSequence set(ByteBuffer src) {
+        int position = src.position();
+        if (src.hasArray())
+            return set(src.array(), src.arrayOffset() + position, src.remaining());
+
+        this.array = null;
+        this.buffer = src;
+        this.base = position;
+        this.length = src.remaining();
+        return this;
+    }
+
+    ByteSequence set(long address, int length) {
+        if (length < 0)
+            throw new IndexOutOfBoundsException();
+
+        this.array = null;
+        this.buffer = null;
+        this.base = address;
+        this.length = length;
+        return this;
+    }
+
+    // Drops the references to the source, so that the thread-local instance doesn't retain it
+    void clear() {
+        array = null;
+        buffer = null;
+        length = 0;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        // Also protects off-heap reads, parse templates may access past the end on malformed input
+        if ((index | length - 1 - index) < 0)
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+
+        return (char)get(base + index);
+    }
+
+    private int get(long i) {
+        byte[] array = this.array;
+        if (null != array)
+            return array[(int)i] & 0xFF;
+
+        ByteBuffer buffer = this.buffer;
+        return (null != buffer ? buffer.get((int)i) : Memory.getByte(i)) & 0xFF;
+    }
+
+    /**
+     * Loads n (1..8) bytes starting at index into a long, the first one in the lowest byte.
+     * The range is expected to be within the bounds. Full lanes are read with a single load.
+     */
+    long lane(int index, int n) {
+        long i = base + index;
+        if (8 == n) {
+            byte[] array = this.array;
+            if (null != array)
+                return arrayLanes(array).getLong((int)i);
+
+            ByteBuffer buffer = this.buffer;
+            if (null != buffer) {
+                long lane = buffer.getLong((int)i);
+                return buffer.order() == ByteOrder.LITTLE_ENDIAN ? lane : Long.reverseBytes(lane);
+            }
+
+            if (Memory.LITTLE_ENDIAN)
+                return Memory.getLong(i);
+        }
+
+        long lane = 0;
+        for (int j = n - 1; j >= 0; --j)
+            lane = lane << 8 | get(i + j);
+
+        return lane;
+    }
+
+    private ByteBuffer arrayLanes(byte[] array) {
+        ByteBuffer lanes = arrayLanes;
+        if (null == lanes || lanes.array() != array)
+            arrayLanes = lanes = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+
+        return lanes;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        // Only used to build error messages
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < bytes.length; ++i)
+            bytes[i] = (byte)charAt(i);
+
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    // Lazy holder, Unsafe is only looked up when off-heap memory is read. It is reached reflectively, through
+    // constant method handles that the JIT inlines, so that the code doesn't depend on the internal API at compile time
+    private static final class Memory {
+        static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+        private static final MethodHandle GET_BYTE;
+        private static final MethodHandle GET_LONG;
+
+        static {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field f = unsafeClass.getDeclaredField("theUnsafe");
+                f.setAccessible(true);
+                Object unsafe = f.get(null);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                GET_BYTE = lookup.findVirtual(unsafeClass, "getByte", MethodType.methodType(byte.class, long.class))
+                        .bindTo(unsafe);
+                GET_LONG = lookup.findVirtual(unsafeClass, "getLong", MethodType.methodType(long.class, long.class))
+                        .bindTo(unsafe);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        static byte getByte(long address) {
+            try {
+                return (byte)GET_BYTE.invokeExact(address);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        static long getLong(long address) {
+            try {
+                return (long)GET_LONG.invokeExact(address);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
\ No newline at end of file
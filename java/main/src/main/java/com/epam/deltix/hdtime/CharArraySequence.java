@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+/**
+ * Reusable CharSequence view over a char[], lets the parse templates read it without copying. Not thread-safe.
+ */
+final class CharArraySequence implements CharSequence {
+    private char[] array;
+
+    CharArraySequence set(char[] src) {
+        this.array = src;
+        return this;
+    }
+
+    // Drops the reference to the source, so that the thread-local instance doesn't retain it
+    void clear() {
+        array = null;
+    }
+
+    @Override
+    public int length() {
+        return array.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return array[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        // Only used to build error messages
+        return new String(array);
+    }
+}
\ No newline at end of file
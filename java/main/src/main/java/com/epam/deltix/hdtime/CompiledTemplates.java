@@ -0,0 +1,392 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+/**
+ * Format and parse templates compiled into a compact program of int opcodes (code | argument << 8), that is
+ * executed by a single switch-based method. Unlike the field loop of FormatTemplate/ParseTemplate, there is
+ * no interface call per field, so the performance doesn't degrade when many different formats are in use and
+ * the field call sites become megamorphic. Fields without an opcode are still called via the field array.
+ * Enabled by default, can be disabled with -Dcom.epam.deltix.hdtime.compiledTemplates=false
+ */
+final class CompiledTemplates {
+    static final String PROPERTY = "com.epam.deltix.hdtime.compiledTemplates";
+    static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(PROPERTY));
+
+    // Opcodes, shared by format and parse programs. Package-private for tests
+    static final int FIELD         = 0;     // Not compiled, call the field
+    static final int CHAR          = 1;     // arg: char
+    static final int STRING        = 2;     // arg: string index
+    static final int SIGN          = 3;
+    static final int YEAR_W2       = 4;
+    static final int YEAR_W4       = 5;
+    static final int YEAR          = 6;
+    static final int MONTH         = 7;
+    static final int MONTH_W2      = 8;
+    static final int DAY           = 9;
+    static final int DAY_W2        = 10;
+    static final int DAYS          = 11;
+    static final int DAYS_W        = 12;    // arg: width
+    static final int HOUR          = 13;
+    static final int HOUR_W2       = 14;
+    static final int MINUTE        = 15;
+    static final int MINUTE_W2     = 16;
+    static final int SECOND        = 17;
+    static final int SECOND_W2     = 18;
+    static final int FRACTIONS     = 19;    // arg: width
+
+    // Fraction divisors/multipliers, by width
+    static final int[] SCALE = { 1000000000, 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1 };
+
+    private CompiledTemplates() {
+    }
+
+    private static int op(int code, int arg) {
+        return code | arg << 8;
+    }
+
+    // region Formatting
+
+    static Formatters.FormatTemplate compile(Formatters.FormatTemplate template) {
+        return ENABLED ? new Format(template.fields) : template;
+    }
+
+    static final class Format extends Formatters.FormatTemplate {
+        final int[] ops;
+        private final char[][] strings;
+        private final byte[][] bytes;
+
+        Format(Formattable[] fields) {
+            super(fields);
+            int n = fields.length, nStrings = 0;
+            int[] ops = new int[n];
+            char[][] strings = new char[n][];
+            byte[][] bytes = new byte[n][];
+            for (int i = 0; i < n; ++i) {
+                Formattable f = fields[i];
+                int op = FIELD;
+                if (f instanceof Formatters.CharField && ((Formatters.CharField)f).isLatin1()) {
+                    op = op(CHAR, ((Formatters.CharField)f).ch);
+                } else if (f instanceof Formatters.StringField) {
+                    strings[nStrings] = ((Formatters.StringField)f).chars;
+                    bytes[nStrings] = ((Formatters.StringField)f).bytes;
+                    op = op(STRING, nStrings++);
+                } else if (f instanceof Formatters.FractionsField) {
+                    op = op(FRACTIONS, ((Formatters.FractionsField)f).width);
+                } else if (f instanceof Formatters.SignField) {
+                    op = SIGN;
+                } else if (f instanceof Formatters.YearsField2w02) {
+                    op = YEAR_W2;
+                } else if (f instanceof Formatters.YearsField4w04) {
+                    op = YEAR_W4;
+                } else if (f instanceof Formatters.MonthNumField2) {
+                    op = MONTH;
+                } else if (f instanceof Formatters.MonthNumField2w02) {
+                    op = MONTH_W2;
+                } else if (f instanceof Formatters.DayInMonthField2) {
+                    op = DAY;
+                } else if (f instanceof Formatters.DayInMonthField2w02) {
+                    op = DAY_W2;
+                } else if (f instanceof Formatters.DaysCountField) {
+                    op = DAYS;
+                } else if (f instanceof Formatters.Hours24Field2) {
+                    op = HOUR;
+                } else if (f instanceof Formatters.Hours24Field2w02) {
+                    op = HOUR_W2;
+                } else if (f instanceof Formatters.MinutesField2) {
+                    op = MINUTE;
+                } else if (f instanceof Formatters.MinutesField2w02) {
+                    op = MINUTE_W2;
+                } else if (f instanceof Formatters.SecondsField2) {
+                    op = SECOND;
+                } else if (f instanceof Formatters.SecondsField2w02) {
+                    op = SECOND_W2;
+                }
+
+                ops[i] = op;
+            }
+
+            this.ops = ops;
+            this.strings = strings;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int format(char[] to, int ofs, Components c) {
+            return format(to, null, ofs, c);
+        }
+
+        @Override
+        public int format(byte[] to, int ofs, Components c) {
+            return format(null, to, ofs, c);
+        }
+
+        // The program is executed by one loop for both outputs, exactly one of chars and bytes is not null.
+        // The helpers below choose the output, the branch is constant for a call
+        private int format(char[] chars, byte[] bytes, int ofs, Components c) {
+            final int[] ops = this.ops;
+            for (int i = ops.length - 1; i >= 0; --i) {
+                int op = ops[i];
+                switch (op & 0xFF) {
+                    case CHAR:
+                        ofs = ch(chars, bytes, ofs, op >>> 8);
+                        break;
+                    case STRING:
+                        int k = op >>> 8;
+                        ofs = null != chars ? Formatters.Print.str(chars, ofs, strings[k])
+                                : Formatters.Print.str(bytes, ofs, this.bytes[k]);
+                        break;
+                    case SIGN:
+                        ofs = null != chars ? Formatters.Print.sign(chars, ofs, c.sign)
+                                : Formatters.Print.sign(bytes, ofs, c.sign);
+                        break;
+                    case YEAR_W2:
+                        ofs = dec2w2(chars, bytes, ofs, c.year % 100);
+                        break;
+                    case YEAR_W4:
+                        ofs = null != chars ? Formatters.Print.dec4w4(chars, ofs, c.year)
+                                : Formatters.Print.dec4w4(bytes, ofs, c.year);
+                        break;
+                    case MONTH:
+                        ofs = dec2(chars, bytes, ofs, c.month);
+                        break;
+                    case MONTH_W2:
+                        ofs = dec2w2(chars, bytes, ofs, c.month);
+                        break;
+                    case DAY:
+                        ofs = dec2(chars, bytes, ofs, c.day);
+                        break;
+                    case DAY_W2:
+                        ofs = dec2w2(chars, bytes, ofs, c.day);
+                        break;
+                    case DAYS:
+                        ofs = null != chars ? Formatters.Print.dec(chars, ofs, c.day)
+                                : Formatters.Print.dec(bytes, ofs, c.day);
+                        break;
+                    case HOUR:
+                        ofs = dec2(chars, bytes, ofs, c.hour);
+                        break;
+                    case HOUR_W2:
+                        ofs = dec2w2(chars, bytes, ofs, c.hour);
+                        break;
+                    case MINUTE:
+                        ofs = dec2(chars, bytes, ofs, c.minute);
+                        break;
+                    case MINUTE_W2:
+                        ofs = dec2w2(chars, bytes, ofs, c.minute);
+                        break;
+                    case SECOND:
+                        ofs = dec2(chars, bytes, ofs, c.second);
+                        break;
+                    case SECOND_W2:
+                        ofs = dec2w2(chars, bytes, ofs, c.second);
+                        break;
+                    case FRACTIONS:
+                        int width = op >>> 8, x = c.nanosecond / SCALE[width];
+                        ofs = null != chars ? Formatters.Print.dec(chars, ofs, x, width)
+                                : Formatters.Print.dec(bytes, ofs, x, width);
+                        break;
+                    default:
+                        ofs = null != chars ? fields[i].format(chars, ofs, c) : fields[i].format(bytes, ofs, c);
+                }
+            }
+
+            return ofs;
+        }
+
+        private static int ch(char[] chars, byte[] bytes, int ofs, int ch) {
+            if (null != chars)
+                chars[ofs] = (char)ch;
+            else
+                bytes[ofs] = (byte)ch;
+
+            return ofs - 1;
+        }
+
+        private static int dec2(char[] chars, byte[] bytes, int ofs, int x) {
+            return null != chars ? Formatters.Print.dec2(chars, ofs, x) : Formatters.Print.dec2(bytes, ofs, x);
+        }
+
+        private static int dec2w2(char[] chars, byte[] bytes, int ofs, int x) {
+            return null != chars ? Formatters.Print.dec2w2(chars, ofs, x) : Formatters.Print.dec2w2(bytes, ofs, x);
+        }
+    }
+
+    // endregion Formatting
+
+    // region Parsing
+
+    static Parsers.ParseTemplate compile(Parsers.ParseTemplate template) {
+        return ENABLED ? new Parse(template.fields) : template;
+    }
+
+    static final class Parse extends Parsers.ParseTemplate {
+        private final int[] ops;
+        private final String[] strings;
+
+        Parse(Parseable[] fields) {
+            super(fields);
+            int n = fields.length, nStrings = 0;
+            int[] ops = new int[n];
+            String[] strings = new String[n];
+            for (int i = 0; i < n; ++i) {
+                Parseable f = fields[i];
+                int op = FIELD;
+                if (f instanceof Parsers.CharField) {
+                    op = op(CHAR, ((Parsers.CharField)f).ch);
+                } else if (f instanceof Parsers.StringField) {
+                    strings[nStrings] = ((Parsers.StringField)f).str;
+                    op = op(STRING, nStrings++);
+                } else if (f instanceof Parsers.FractionsField) {
+                    op = op(FRACTIONS, ((Parsers.FractionsField)f).length);
+                } else if (f instanceof Parsers.SignField) {
+                    op = SIGN;
+                } else if (f instanceof Parsers.YearsField4w4) {
+                    op = YEAR_W4;
+                } else if (f instanceof Parsers.YearsField4) {
+                    op = YEAR;
+                } else if (f instanceof Parsers.MonthNumField2) {
+                    op = MONTH;
+                } else if (f instanceof Parsers.MonthNumField2w2) {
+                    op = MONTH_W2;
+                } else if (f instanceof Parsers.DayOfMonthField2) {
+                    op = DAY;
+                } else if (f instanceof Parsers.DayOfMonthField2w2) {
+                    op = DAY_W2;
+                } else if (f instanceof Parsers.DaysCountField) {
+                    op = DAYS;
+                } else if (f instanceof Parsers.DaysCountField1w1) {
+                    op = op(DAYS_W, 1);
+                } else if (f instanceof Parsers.DaysCountField2w2) {
+                    op = op(DAYS_W, 2);
+                } else if (f instanceof Parsers.DaysCountFieldN) {
+                    op = op(DAYS_W, ((Parsers.DaysCountFieldN)f).length);
+                } else if (f instanceof Parsers.Hours24Field2) {
+                    op = HOUR;
+                } else if (f instanceof Parsers.Hours24Field2w2) {
+                    op = HOUR_W2;
+                } else if (f instanceof Parsers.MinutesField2) {
+                    op = MINUTE;
+                } else if (f instanceof Parsers.MinutesField2w2) {
+                    op = MINUTE_W2;
+                } else if (f instanceof Parsers.SecondsField2) {
+                    op = SECOND;
+                } else if (f instanceof Parsers.SecondsField2w2) {
+                    op = SECOND_W2;
+                }
+
+                ops[i] = op;
+            }
+
+            this.ops = ops;
+            this.strings = strings;
+        }
+
+        @Override
+        public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
+            final int[] ops = this.ops;
+            for (int i = 0, n = ops.length; i < n; ++i) {
+                int op = ops[i];
+                long t;
+                switch (op & 0xFF) {
+                    case CHAR:
+                        if (ofs >= from.length() || (op >>> 8) != from.charAt(ofs))
+                            throw Parsers.error(from, ofs, dst);
+
+                        ++ofs;
+                        break;
+                    case STRING:
+                        String str = strings[op >>> 8];
+                        int len = str.length();
+                        if (ofs + len > from.length())
+                            throw Parsers.error(from, ofs, dst);
+
+                        for (int j = 0; j < len; ++j)
+                            if (from.charAt(ofs + j) != str.charAt(j))
+                                throw Parsers.error(from, ofs + j, dst);
+
+                        ofs += len;
+                        break;
+                    case SIGN:
+                        ofs = Parsers.Parse.sign(from, ofs, dst);
+                        break;
+                    case YEAR_W4:
+                        ((ParsedDateTimeValue)dst).year = Parsers.Parse.decimalFixed(from, ofs, ofs + 4, dst);
+                        ofs += 4;
+                        break;
+                    case YEAR:
+                        t = Parsers.Parse.decimal(from, ofs, dst);
+                        ((ParsedDateTimeValue)dst).year = (int)t;
+                        ofs = (int)(t >> 32);
+                        break;
+                    case MONTH:
+                        t = Parsers.Parse.decimal(from, ofs, dst);
+                        ((ParsedDateTimeValue)dst).month = (int)t;
+                        ofs = (int)(t >> 32);
+                        break;
+                    case MONTH_W2:
+                        ((ParsedDateTimeValue)dst).month = Parsers.Parse.decimalFixed(from, ofs, ofs + 2, dst);
+                        ofs += 2;
+                        break;
+                    case DAY:
+                        t = Parsers.Parse.decimal(from, ofs, dst);
+                        ((ParsedDateTimeValue)dst).day = (int)t;
+                        ofs = (int)(t >> 32);
+                        break;
+                    case DAY_W2:
+                        ((ParsedDateTimeValue)dst).day = Parsers.Parse.decimalFixed(from, ofs, ofs + 2, dst);
+                        ofs += 2;
+                        break;
+                    case DAYS:
+                        ofs = Parsers.Parse.component(from, ofs, dst, Convert.NS_IN_DAY);
+                        break;
+                    case DAYS_W:
+                        ofs = Parsers.Parse.component(from, ofs, op >>> 8, dst, Convert.NS_IN_DAY);
+                        break;
+                    case HOUR:
+                        ofs = Parsers.Parse.component(from, ofs, dst, Convert.NS_IN_HOUR);
+                        break;
+                    case HOUR_W2:
+                        ofs = Parsers.Parse.component(from, ofs, 2, dst, Convert.NS_IN_HOUR);
+                        break;
+                    case MINUTE:
+                        ofs = Parsers.Parse.component(from, ofs, dst, Convert.NS_IN_MINUTE);
+                        break;
+                    case MINUTE_W2:
+                        ofs = Parsers.Parse.component(from, ofs, 2, dst, Convert.NS_IN_MINUTE);
+                        break;
+                    case SECOND:
+                        ofs = Parsers.Parse.component(from, ofs, dst, Convert.NS_IN_SECOND);
+                        break;
+                    case SECOND_W2:
+                        ofs = Parsers.Parse.component(from, ofs, 2, dst, Convert.NS_IN_SECOND);
+                        break;
+                    case FRACTIONS:
+                        int width = op >>> 8;
+                        ofs = Parsers.Parse.component(from, ofs, width, dst, SCALE[width]);
+                        break;
+                    default:
+                        ofs = fields[i].parse(from, ofs, dst);
+                }
+            }
+
+            return ofs;
+        }
+    }
+
+    // endregion Parsing
+}
\ No newline at end of file
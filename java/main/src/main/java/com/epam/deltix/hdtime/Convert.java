@@ -133,13 +133,6 @@ final class Convert {
             return calendar;
         }
 
-        private final static ThreadLocal<GregorianCalendar> tlsDateCalendar = new ThreadLocal<GregorianCalendar>() {
-            @Override
-            protected GregorianCalendar initialValue() {
-                return zeroCalendar();
-            }
-        };
-
         private final static ThreadLocal<GregorianCalendar> tlsYearCalendar = new ThreadLocal<GregorianCalendar>() {
             @Override
             protected GregorianCalendar initialValue() {
@@ -147,26 +140,146 @@ final class Convert {
             }
         };
 
-        private final static ThreadLocal<GregorianCalendar> tlsTempCalendar = new ThreadLocal<GregorianCalendar>() {
-            @Override
-            protected GregorianCalendar initialValue() {
-                return zeroCalendar();
+        public static GregorianCalendar getTempYearCalendar() {
+            return tlsYearCalendar.get();
+        }
+
+        // endregion Utility/helper methods
+
+        /////////////////////////////////////////////////////////////////////////////////////
+        // region Calendar arithmetic
+        /////////////////////////////////////////////////////////////////////////////////////
+        // Proleptic Gregorian calendar. Within HdDateTime range the results are identical to
+        // GregorianCalendar with UTC time zone (Julian cutover is far below MIN_YEAR).
+        // Civil date is packed into int as: year << 9 | month << 5 | dayOfMonth
+
+        // Days from 0000-03-01 to 1970-01-01. Years are counted from March, so leap day is the last day of the year
+        private static final int DAYS_FROM_0000_03_01 = 719468;
+        // Days from 0001-01-01 to 1970-01-01
+        private static final int DAYS_FROM_0001_01_01 = 719162;
+        private static final int DAYS_IN_400_YEARS = 146097;
+        private static final int[] DAYS_IN_MONTH = { 0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+
+        // Week numbering of the default FORMAT locale, same as GregorianCalendar uses. ISO day of week number
+        private static final int FIRST_DAY_OF_WEEK = toDayOfWeek[zeroCalendar().getFirstDayOfWeek() - 1].getValue();
+        private static final int MIN_DAYS_IN_FIRST_WEEK = zeroCalendar().getMinimalDaysInFirstWeek();
+
+        static int toEpochDays(long dt) {
+            return (int)div(dt, NS_IN_DAY);
+        }
+
+        // Only valid for days within HdDateTime range (the shifted day number is never negative)
+        static int civilFromEpochDays(int days) {
+            int z = days + DAYS_FROM_0000_03_01;
+            int era = z / DAYS_IN_400_YEARS;
+            int doe = z - era * DAYS_IN_400_YEARS;                                   // [0, 146096]
+            int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;       // [0, 399]
+            int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);                       // [0, 365], from March 1st
+            int mp = (5 * doy + 2) / 153;                                            // [0, 11], from March
+            int day = doy - (153 * mp + 2) / 5 + 1;
+            int month = mp < 10 ? mp + 3 : mp - 9;
+            int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+            return year << 9 | month << 5 | day;
+        }
+
+        static int civilYear(int civil) {
+            return civil >>> 9;
+        }
+
+        static int civilMonth(int civil) {
+            return civil >>> 5 & 0xF;
+        }
+
+        static int civilDay(int civil) {
+            return civil & 0x1F;
+        }
+
+        // Epoch day of the specified date. Arguments are not validated, but year must be positive
+        static int epochDaysFromCivil(int year, int month, int day) {
+            int y = month <= 2 ? year - 1 : year;
+            int era = y / 400;
+            int yoe = y - era * 400;                                                 // [0, 399]
+            int doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1; // [0, 365], from March 1st
+            int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;                         // [0, 146096]
+            return era * DAYS_IN_400_YEARS + doe - DAYS_FROM_0000_03_01;
+        }
+
+        static int daysInMonth(int year, int month) {
+            return 2 == month && HdDateTimeUtils.isLeapYear(year) ? 29 : DAYS_IN_MONTH[month];
+        }
+
+        // Epoch day of January 1st of the specified year. Year must be positive
+        static int epochDaysFromYear(int year) {
+            int y = year - 1;
+            return 365 * y + y / 4 - y / 100 + y / 400 - DAYS_FROM_0001_01_01;
+        }
+
+        // ISO day of week number, Monday = 1 .. Sunday = 7. 1970-01-01 is Thursday
+        static int dayOfWeekFromEpochDays(int days) {
+            return (int)mod(days + 3, DAYS_IN_WEEK) + 1;
+        }
+
+        static int dayOfYearFromEpochDays(int days) {
+            return days - epochDaysFromYear(civilYear(civilFromEpochDays(days))) + 1;
+        }
+
+        // First day of the week containing the specified day
+        static int weekStart(int days, int firstDayOfWeek) {
+            return days - (int)mod(dayOfWeekFromEpochDays(days) - firstDayOfWeek, DAYS_IN_WEEK);
+        }
+
+        // First day of week 1 of the month/year starting with the specified day. Week 1 is the first week having
+        // at least minDaysInFirstWeek days of the period, preceding days belong to week 0 of the period
+        static int firstWeekStart(int periodStart, int firstDayOfWeek, int minDaysInFirstWeek) {
+            int start = weekStart(periodStart, firstDayOfWeek);
+            return periodStart - start <= 7 - minDaysInFirstWeek ? start : start + 7;
+        }
+
+        // Week of year as GregorianCalendar.WEEK_OF_YEAR: days before week 1 belong to the last week of the previous
+        // year, days of the next year's week 1 are in week 1
+        static int weekOfYearFromEpochDays(int days, int firstDayOfWeek, int minDaysInFirstWeek) {
+            int year = civilYear(civilFromEpochDays(days));
+            int week1 = firstWeekStart(epochDaysFromYear(year), firstDayOfWeek, minDaysInFirstWeek);
+            if (days < week1) {
+                week1 = firstWeekStart(epochDaysFromYear(year - 1), firstDayOfWeek, minDaysInFirstWeek);
+            } else {
+                int nextWeek1 = firstWeekStart(epochDaysFromYear(year + 1), firstDayOfWeek, minDaysInFirstWeek);
+                if (days >= nextWeek1)
+                    week1 = nextWeek1;
             }
-        };
 
-        static GregorianCalendar getTempDateCalendar() {
-            return tlsDateCalendar.get();
+            return (days - week1) / 7 + 1;
         }
 
-        static GregorianCalendar getTempCalendar() {
-            return tlsTempCalendar.get();
+        // Week of month as GregorianCalendar.WEEK_OF_MONTH [0..6]
+        static int weekOfMonthFromEpochDays(int days, int firstDayOfWeek, int minDaysInFirstWeek) {
+            int monthStart = days - civilDay(civilFromEpochDays(days)) + 1;
+            // Add one week to avoid negative division, days of week 0 precede week 1 by at most 7 days
+            return (days - firstWeekStart(monthStart, firstDayOfWeek, minDaysInFirstWeek) + 7) / 7;
         }
 
-        public static GregorianCalendar getTempYearCalendar() {
-            return tlsYearCalendar.get();
+        // ISO-8601 week of week-based year [1..53]. The week belongs to the year of its Thursday
+        static int isoWeekFromEpochDays(int days) {
+            int thursday = days - dayOfWeekFromEpochDays(days) + 4;
+            return (thursday - epochDaysFromYear(civilYear(civilFromEpochDays(thursday)))) / 7 + 1;
         }
 
-        // endregion Utility/helper methods
+        // ISO-8601 week-based year, the year of the Thursday of the same week
+        static int isoWeekBasedYearFromEpochDays(int days) {
+            return civilYear(civilFromEpochDays(days - dayOfWeekFromEpochDays(days) + 4));
+        }
+
+        // Monday of ISO week 1 of the specified week-based year. Week 1 always contains January 4th
+        static int isoWeek1Start(int weekBasedYear) {
+            return weekStart(epochDaysFromYear(weekBasedYear) + 3, 1);
+        }
+
+        // 52 or 53. December 28th always belongs to the last week of its year
+        static int isoWeeksInYear(int weekBasedYear) {
+            return isoWeekFromEpochDays(epochDaysFromCivil(weekBasedYear, 12, 28));
+        }
+
+        // endregion Calendar arithmetic
 
         /////////////////////////////////////////////////////////////////////////////////////
         // region Range checks
@@ -247,6 +360,15 @@ final class Convert {
             return inRange(x, MIN_YEAR, MAX_YEAR);
         }
 
+        static boolean isValidMonthComponent(int x) {
+            return inRange(x, 1, 12);
+        }
+
+        // Month is expected to be already validated
+        static boolean isValidDayOfMonthComponent(int year, int month, int x) {
+            return inRange(x, 1, daysInMonth(year, month));
+        }
+
         static long checkNanos(long nanoseconds) {
             if (!isValidNanos(nanoseconds))
                 throwNanosOutOfRange();
@@ -358,6 +480,20 @@ final class Convert {
 
             return year;
         }
+
+        static int checkMonthComponent(int month) {
+            if (!isValidMonthComponent(month))
+                throwMonthsOutOfRange();
+
+            return month;
+        }
+
+        static int checkDayOfMonthComponent(int year, int month, int day) {
+            if (!isValidDayOfMonthComponent(year, month, day))
+                throwDaysOutOfRange();
+
+            return day;
+        }
         
         // endregion
 
@@ -365,15 +501,12 @@ final class Convert {
         // region Construct HdDateTime
         /////////////////////////////////////////////////////////////////////////////////////
 
-        private static GregorianCalendar calendarFromDate(int year, int month, int day) {
-            GregorianCalendar calendar = getTempDateCalendar();
-            calendar.clear(); // TODO: Slow
-            calendar.set(year, month - 1, day);
-            return calendar;
-        }
-
         static long from(int year, int month, int day) {
-            return checkMillis(calendarFromDate(year, month, day).getTimeInMillis()) * NS_IN_MILLISECOND;
+            checkYearComponent(year);
+            checkMonthComponent(month);
+            checkDayOfMonthComponent(year, month, day);
+            // Any valid date is within HdDateTime range, no additional range check is needed
+            return (long)epochDaysFromCivil(year, month, day) * NS_IN_DAY;
         }
 
         static long from(int year, int month, int day, int hour, int minute, int second) {
@@ -413,51 +546,59 @@ final class Convert {
         // region Extract Components
         /////////////////////////////////////////////////////////////////////////////////////
 
-        private static GregorianCalendar calendarFromMillis(long millis) {
-            GregorianCalendar calendar = getTempCalendar();
-            calendar.setTimeInMillis(millis);
-            return calendar;
-        }
-
-        static GregorianCalendar calendarFromNanos(long dt) {
-            return calendarFromMillis(div(dt, NS_IN_MILLISECOND));
-        }
-
-
-        private static int getCalendarComponent(long dt, int field) {
-            return calendarFromNanos(dt).get(field);
-        }
 
         static long extractTimeOfDay(long dt) {
             return mod(dt, NS_IN_DAY);
         }
 
+        // Packed civil date, see civilFromEpochDays
+        static int extractCivil(long value) {
+            int days = toEpochDays(value);
+            return DayTable.ENABLED ? DayTable.civil(days) : civilFromEpochDays(days);
+        }
+
         static int extractYear(long value) {
-            return getCalendarComponent(value, Calendar.YEAR);
+            return civilYear(extractCivil(value));
         }
 
         static Month extractMonthOfYear(long value) {
-            return Month.of(getCalendarComponent(value, Calendar.MONTH) + 1);
+            return Month.of(civilMonth(extractCivil(value)));
         }
 
         static int extractWeekOfYear(long value) {
-            return getCalendarComponent(value, Calendar.WEEK_OF_YEAR);
+            return weekOfYearFromEpochDays(toEpochDays(value), FIRST_DAY_OF_WEEK, MIN_DAYS_IN_FIRST_WEEK);
         }
 
         static int extractWeekOfMonth(long value) {
-            return getCalendarComponent(value, Calendar.WEEK_OF_MONTH);
+            return weekOfMonthFromEpochDays(toEpochDays(value), FIRST_DAY_OF_WEEK, MIN_DAYS_IN_FIRST_WEEK);
+        }
+
+        static int extractIsoWeekOfYear(long value) {
+            int days = toEpochDays(value);
+            return DayTable.ENABLED ? DayTable.isoWeek(days) : isoWeekFromEpochDays(days);
+        }
+
+        static int extractIsoWeekBasedYear(long value) {
+            return isoWeekBasedYearFromEpochDays(toEpochDays(value));
+        }
+
+        // Weeks start on Monday, week 1 is the first week with at least 4 days of the month, preceding days are week 0
+        static int extractIsoWeekOfMonth(long value) {
+            return weekOfMonthFromEpochDays(toEpochDays(value), 1, 4);
         }
 
         static int extractDayOfYear(long value) {
-            return getCalendarComponent(value, Calendar.DAY_OF_YEAR);
+            int days = toEpochDays(value);
+            return DayTable.ENABLED ? DayTable.dayOfYear(days) : dayOfYearFromEpochDays(days);
         }
 
         static int extractDayOfMonth(long value) {
-            return getCalendarComponent(value, Calendar.DAY_OF_MONTH);
+            return civilDay(extractCivil(value));
         }
 
         static DayOfWeek extractDayOfWeek(long value) {
-            return toDayOfWeek[getCalendarComponent(value, Calendar.DAY_OF_WEEK) - 1];
+            int days = toEpochDays(value);
+            return DayOfWeek.of(DayTable.ENABLED ? DayTable.dayOfWeek(days) : dayOfWeekFromEpochDays(days));
         }
 
         static int extractHourOfDay(long value) {
@@ -490,36 +631,9 @@ final class Convert {
         // region Set/Replace Components
         /////////////////////////////////////////////////////////////////////////////////////
 
-        private static long setComponentViaCalendar(long millis, int field, int fieldValue) {
-            GregorianCalendar calendar = calendarFromMillis(millis);
-            calendar.set(field, fieldValue);
-            return calendar.getTimeInMillis();
-        }
-
-        private static long setComponentViaCalendar(long millis, int field, int fieldValue, long nanosRemainder) {
-            GregorianCalendar calendar = calendarFromMillis(millis);
-            calendar.set(field, fieldValue);
-            return calendar.getTimeInMillis()  * NS_IN_MILLISECOND + nanosRemainder;
-        }
-
-        private static long addCalendarMillisComponent(long millis, int field, int fieldValue, long nanosRemainder) {
-            GregorianCalendar calendar = calendarFromMillis(millis);
-            calendar.add(field, fieldValue);
-            return calendar.getTimeInMillis()  * NS_IN_MILLISECOND + nanosRemainder;
-        }
-
-        private static long setCalendarComponent(long dt, int field, int fieldValue) {
-            long millis = div(dt, NS_IN_MILLISECOND);
-            dt -= millis * NS_IN_MILLISECOND;
-            assert(inRange(dt, 0, NS_IN_MILLISECOND - 1));
-            return setComponentViaCalendar(millis, field, fieldValue, dt);
-        }
-
-        static long addCalendarComponent(long dt, int field, int fieldValue) {
-            long millis = div(dt, NS_IN_MILLISECOND);
-            dt -= millis * NS_IN_MILLISECOND;
-            assert(inRange(dt, 0, NS_IN_MILLISECOND - 1));
-            return addCalendarMillisComponent(millis, field, fieldValue, dt);
+        // Replaces the date, keeping the time of day
+        private static long setEpochDays(long dt, long days) {
+            return dt + (days - toEpochDays(dt)) * NS_IN_DAY;
         }
 
         private static long setComponent(long dt, long component, long upperDivisor, long lowerDivisor) {
@@ -533,32 +647,55 @@ final class Convert {
             return div(dt, NS_IN_SECOND) * NS_IN_SECOND + component;
         }
 
+        // Date setters follow lenient GregorianCalendar.set semantics: out of range values and days of month
+        // that do not fit the new month overflow into the adjacent months, e.g. setMonth(Jan 31, FEBRUARY) is March 2/3
+
         public static long setYear(long value, int year) {
-            return setCalendarComponent(value, Calendar.YEAR, checkYearComponent(year));
+            int civil = extractCivil(value);
+            return setEpochDays(value,
+                    epochDaysFromCivil(checkYearComponent(year), civilMonth(civil), 1) + civilDay(civil) - 1L);
         }
 
         public static long setMonth(long value, Month month) {
-            return setCalendarComponent(value, Calendar.MONTH, month.getValue() - 1);
+            int civil = extractCivil(value);
+            return setEpochDays(value, epochDaysFromCivil(civilYear(civil), month.getValue(), 1) + civilDay(civil) - 1L);
         }
 
         public static long setWeekOfYear(long value, int week) {
-            return setCalendarComponent(value, Calendar.WEEK_OF_YEAR, week);
+            int days = toEpochDays(value);
+            int week1 = firstWeekStart(epochDaysFromYear(extractYear(value)), FIRST_DAY_OF_WEEK, MIN_DAYS_IN_FIRST_WEEK);
+            return setEpochDays(value, week1 + (week - 1L) * DAYS_IN_WEEK + days - weekStart(days, FIRST_DAY_OF_WEEK));
         }
 
         public static long setWeekOfMonth(long value, int week) {
-            return setCalendarComponent(value, Calendar.WEEK_OF_MONTH, week);
+            int days = toEpochDays(value);
+            int monthStart = days - extractDayOfMonth(value) + 1;
+            int week1 = firstWeekStart(monthStart, FIRST_DAY_OF_WEEK, MIN_DAYS_IN_FIRST_WEEK);
+            return setEpochDays(value, week1 + (week - 1L) * DAYS_IN_WEEK + days - weekStart(days, FIRST_DAY_OF_WEEK));
+        }
+
+        // Keeps ISO week-based year and day of week. Unlike setWeekOfYear, the week is not allowed to overflow
+        public static long setIsoWeekOfYear(long value, int week) {
+            int days = toEpochDays(value);
+            int year = isoWeekBasedYearFromEpochDays(days);
+            if (!inRange(week, 1, isoWeeksInYear(year)))
+                throwWeeksOutOfRange();
+
+            return checkNanos(setEpochDays(value,
+                    isoWeek1Start(year) + (week - 1L) * DAYS_IN_WEEK + dayOfWeekFromEpochDays(days) - 1));
         }
 
         public static long setDayOfYear(long value, int day) {
-            return setCalendarComponent(value, Calendar.DAY_OF_YEAR, day);
+            return setEpochDays(value, epochDaysFromYear(extractYear(value)) + day - 1L);
         }
 
         public static long setDayOfMonth(long value, int day) {
-            return setCalendarComponent(value, Calendar.DAY_OF_MONTH, day);
+            return setEpochDays(value, toEpochDays(value) - extractDayOfMonth(value) + (long)day);
         }
 
         public static long setDayOfWeek(long value, DayOfWeek dayOfWeek) {
-            return setCalendarComponent(value, Calendar.DAY_OF_WEEK, fromDayOfWeek[dayOfWeek.getValue() - 1]);
+            int weekStart = weekStart(toEpochDays(value), FIRST_DAY_OF_WEEK);
+            return setEpochDays(value, weekStart + mod(dayOfWeek.getValue() - FIRST_DAY_OF_WEEK, DAYS_IN_WEEK));
         }
 
         public static long setHourOfDay(long value, int hours) {
@@ -600,6 +737,30 @@ final class Convert {
             return roundTo(dt, NS_IN_DAY);
         }
 
+        // Monday 00:00 of the same ISO week. Throws if that is before HdDateTime.MIN_VALUE
+        static long roundToIsoWeek(long dt) {
+            return checkNanos(roundToDays(dt) - (dayOfWeekFromEpochDays(toEpochDays(dt)) - 1) * NS_IN_DAY);
+        }
+
+        // Same semantics as GregorianCalendar.add(MONTH/YEAR): day of month is clamped to the end of the target month,
+        // time of day is kept unchanged
+        static long addMonths(long dt, long months) {
+            int days = toEpochDays(dt);
+            int civil = extractCivil(dt);
+            long monthIndex = civilYear(civil) * 12L + (civilMonth(civil) - 1) + months;
+            long year = div(monthIndex, 12);
+            if (!inRange(year, MIN_YEAR, MAX_YEAR))
+                throwYearsOutOfRange();
+
+            int month = (int)(monthIndex - year * 12) + 1;
+            int day = Math.min(civilDay(civil), daysInMonth((int)year, month));
+            return dt + (long)(epochDaysFromCivil((int)year, month, day) - days) * NS_IN_DAY;
+        }
+
+        static long addYears(long dt, int years) {
+            return addMonths(dt, years * 12L);
+        }
+
         public static long toMillis(long dt) {
             return div(dt, NS_IN_MILLISECOND);
         }
@@ -621,10 +782,86 @@ final class Convert {
             components.second = (int)sec;
             components.hour = (int)(dt);
 
-            GregorianCalendar calendar = calendarFromMillis(day * MILLISECONDS_IN_DAY);
-            components.day = calendar.get(Calendar.DAY_OF_MONTH);
-            components.month = calendar.get(Calendar.MONTH) + 1;
-            components.year = calendar.get(Calendar.YEAR);
+            int civil = DayTable.ENABLED ? DayTable.civil((int)day) : civilFromEpochDays((int)day);
+            components.day = civilDay(civil);
+            components.month = civilMonth(civil);
+            components.year = civilYear(civil);
+        }
+
+        // Date part of toComponents(long, Components)
+        static void civilToComponents(int civil, Components components) {
+            components.day = civilDay(civil);
+            components.month = civilMonth(civil);
+            components.year = civilYear(civil);
+        }
+
+        // Time part of toComponents(long, Components), timeOfDay is in [0, NS_IN_DAY)
+        static void timeOfDayToComponents(long timeOfDay, Components components) {
+            int seconds = (int)(timeOfDay / NS_IN_SECOND);
+            components.sign = 0;
+            components.hour = seconds / (int)SECONDS_IN_HOUR;
+            components.minute = seconds / (int)SECONDS_IN_MINUTE % (int)MINUTES_IN_HOUR;
+            components.second = seconds % (int)SECONDS_IN_MINUTE;
+            components.nanosecond = (int)(timeOfDay - seconds * NS_IN_SECOND);
+        }
+
+        // Writes year, month, day, hour, minute, second, nanosecond into to[ofs..ofs + 6]
+        static void toComponents(long dt, int[] to, int ofs) {
+            long days = div(dt, NS_IN_DAY);
+            long timeOfDay = dt - days * NS_IN_DAY;
+            int civil = DayTable.ENABLED ? DayTable.civil((int)days) : civilFromEpochDays((int)days);
+            int seconds = (int)(timeOfDay / NS_IN_SECOND);
+            to[ofs] = civilYear(civil);
+            to[ofs + 1] = civilMonth(civil);
+            to[ofs + 2] = civilDay(civil);
+            to[ofs + 3] = seconds / (int)SECONDS_IN_HOUR;
+            to[ofs + 4] = seconds / (int)SECONDS_IN_MINUTE % (int)MINUTES_IN_HOUR;
+            to[ofs + 5] = seconds % (int)SECONDS_IN_MINUTE;
+            to[ofs + 6] = (int)(timeOfDay - seconds * NS_IN_SECOND);
+        }
+
+        // Columnar version. Any of the destination columns may be null, all of them are written from dstOfs.
+        // The date is only recomputed when the day changes, so sorted timestamps are decomposed mostly with
+        // a couple of integer divisions
+        static void toComponents(long[] src, int srcOfs, int length,
+                                 int[] years, int[] months, int[] days, int[] hours, int[] minutes, int[] seconds,
+                                 int[] nanoseconds, int dstOfs) {
+            long dayStart = Long.MIN_VALUE; // Outside of HdDateTime range, forces date computation for the 1st value
+            int civil = 0;
+            for (int i = 0; i < length; ++i) {
+                long dt = src[srcOfs + i];
+                long timeOfDay = dt - dayStart;
+                // Same day as the previous value? Unsigned comparison also catches dt < dayStart
+                if (Long.compareUnsigned(timeOfDay, NS_IN_DAY) >= 0) {
+                    long day = div(dt, NS_IN_DAY);
+                    dayStart = day * NS_IN_DAY;
+                    timeOfDay = dt - dayStart;
+                    civil = DayTable.ENABLED ? DayTable.civil((int)day) : civilFromEpochDays((int)day);
+                }
+
+                int j = dstOfs + i;
+                if (null != years)
+                    years[j] = civilYear(civil);
+
+                if (null != months)
+                    months[j] = civilMonth(civil);
+
+                if (null != days)
+                    days[j] = civilDay(civil);
+
+                int secondOfDay = (int)(timeOfDay / NS_IN_SECOND);
+                if (null != hours)
+                    hours[j] = secondOfDay / (int)SECONDS_IN_HOUR;
+
+                if (null != minutes)
+                    minutes[j] = secondOfDay / (int)SECONDS_IN_MINUTE % (int)MINUTES_IN_HOUR;
+
+                if (null != seconds)
+                    seconds[j] = secondOfDay % (int)SECONDS_IN_MINUTE;
+
+                if (null != nanoseconds)
+                    nanoseconds[j] = (int)(timeOfDay - secondOfDay * NS_IN_SECOND);
+            }
         }
 
         // endregion
@@ -1086,6 +1323,10 @@ final class Convert {
 
     static void throwDaysOutOfRange() { throw rangeException("days"); }
 
+    static void throwWeeksOutOfRange() { throw rangeException("weeks"); }
+
+    static void throwMonthsOutOfRange() { throw rangeException("months"); }
+
     static void throwYearsOutOfRange() { throw rangeException("years"); }
 
     // endregion Range Exceptions
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import static com.epam.deltix.hdtime.Util.inRange;
+
+/**
+ * Optional precomputed date components for every day of HdDateTime range (~213K days, ~1.7MB).
+ * Disabled by default, enabled with -Dcom.epam.deltix.hdtime.dayTable=true
+ * The table is built on the first lookup, the flag is constant, so the JIT removes the unused path.
+ */
+final class DayTable {
+    static final String PROPERTY = "com.epam.deltix.hdtime.dayTable";
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    // Entry layout, from the lowest bit. The lowest 21 bits are the packed civil date (see Convert.DateTime):
+    // dayOfMonth:5 | month:4 | year:12 | dayOfYear:9 | dayOfWeek:3 | isoWeek:6
+    private static final int CIVIL_MASK = (1 << 21) - 1;
+    private static final int DAY_OF_YEAR_SHIFT = 21;
+    private static final int DAY_OF_WEEK_SHIFT = 30;
+    private static final int ISO_WEEK_SHIFT = 33;
+
+    static final int FIRST_DAY = Convert.DateTime.toEpochDays(Convert.DateTime.MIN);
+    static final int LAST_DAY = Convert.DateTime.toEpochDays(Convert.DateTime.MAX);
+
+    // Lazy holder idiom, the table is not allocated until used
+    private static final class Holder {
+        static final long[] TABLE = build();
+    }
+
+    static long[] build() {
+        long[] table = new long[LAST_DAY - FIRST_DAY + 1];
+        for (int i = 0; i < table.length; ++i)
+            table[i] = compute(FIRST_DAY + i);
+
+        return table;
+    }
+
+    static long compute(int days) {
+        return Convert.DateTime.civilFromEpochDays(days)
+                | (long)Convert.DateTime.dayOfYearFromEpochDays(days) << DAY_OF_YEAR_SHIFT
+                | (long)Convert.DateTime.dayOfWeekFromEpochDays(days) << DAY_OF_WEEK_SHIFT
+                | (long)Convert.DateTime.isoWeekFromEpochDays(days) << ISO_WEEK_SHIFT;
+    }
+
+    static long entry(int days) {
+        // Values outside of HdDateTime range are not expected, but they are still handled correctly
+        return inRange(days, FIRST_DAY, LAST_DAY) ? Holder.TABLE[days - FIRST_DAY] : compute(days);
+    }
+
+    static int civil(int days) {
+        return (int)entry(days) & CIVIL_MASK;
+    }
+
+    static int dayOfYear(int days) {
+        return (int)(entry(days) >>> DAY_OF_YEAR_SHIFT) & 0x1FF;
+    }
+
+    static int dayOfWeek(int days) {
+        return (int)(entry(days) >>> DAY_OF_WEEK_SHIFT) & 7;
+    }
+
+    static int isoWeek(int days) {
+        return (int)(entry(days) >>> ISO_WEEK_SHIFT) & 0x3F;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+/**
+ * SWAR (SIMD within a register) parser for fixed-width DateTime templates of up to 32 characters, such as
+ * DEFAULT_FORMAT, ISO-8601 and yyyyMMdd-HH:mm:ss.fff: literals and 0-padded 2/4 digit fields and fractions.
+ * The input is loaded into 8-character lanes, each lane is validated with a few 64-bit operations
+ * and every field is converted with 3 multiplications. Malformed input is passed to the generic template,
+ * that reports the error. Recognized when a template is built, disabled together with the other fused templates
+ * with -Dcom.epam.deltix.hdtime.fusedTemplates=false
+ */
+final class FixedWidthParseTemplate extends Parsers.ParseTemplate {
+    static final boolean ENABLED = IsoFormatTemplate.ENABLED;
+
+    private static final int MAX_LANES = 4;
+    private static final int MAX_LENGTH = 8 * MAX_LANES;
+
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long SIXES = 0x0606060606060606L;
+    private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+
+    // Field kinds
+    private static final int YEAR       = 0;
+    private static final int MONTH      = 1;
+    private static final int DAY        = 2;
+    private static final int HOUR       = 3;
+    private static final int MINUTE     = 4;
+    private static final int SECOND     = 5;
+    private static final int FRACTIONS  = 6;
+
+    private final Parsers.ParseTemplate generic;
+    private final int length;
+    private final long[] digits;        // Per lane: 0xFF in digit positions
+    private final long[] literals;      // Per lane: expected characters in the other positions, 0 past the end
+    private final int[] kinds;
+    private final int[] positions;
+    private final int[] widths;
+
+    private FixedWidthParseTemplate(Parsers.ParseTemplate generic, int length, long[] digits, long[] literals,
+                                    int[] kinds, int[] positions, int[] widths) {
+        super(generic.fields);
+        this.generic = generic;
+        this.length = length;
+        this.digits = digits;
+        this.literals = literals;
+        this.kinds = kinds;
+        this.positions = positions;
+        this.widths = widths;
+    }
+
+    static Parsers.ParseTemplate specialize(Parsers.ParseTemplate template) {
+        if (!ENABLED)
+            return template;
+
+        Parseable[] fields = template.fields;
+        int n = fields.length, nFields = 0;
+        long[] digits = new long[MAX_LANES + 1];
+        long[] literals = new long[MAX_LANES + 1];
+        int[] kinds = new int[n], positions = new int[n], widths = new int[n];
+        int ofs = 0;
+        for (Parseable f : fields) {
+            String literal = null;
+            int kind = -1, width = 2;
+            if (f instanceof Parsers.CharField) {
+                literal = String.valueOf(((Parsers.CharField)f).ch);
+            } else if (f instanceof Parsers.StringField) {
+                literal = ((Parsers.StringField)f).str;
+            } else if (f instanceof Parsers.YearsField4w4) {
+                kind = YEAR;
+                width = 4;
+            } else if (f instanceof Parsers.MonthNumField2w2) {
+                kind = MONTH;
+            } else if (f instanceof Parsers.DayOfMonthField2w2) {
+                kind = DAY;
+            } else if (f instanceof Parsers.Hours24Field2w2) {
+                kind = HOUR;
+            } else if (f instanceof Parsers.MinutesField2w2) {
+                kind = MINUTE;
+            } else if (f instanceof Parsers.SecondsField2w2) {
+                kind = SECOND;
+            } else if (f instanceof Parsers.FractionsField) {
+                kind = FRACTIONS;
+                width = ((Parsers.FractionsField)f).length;
+            } else {
+                // Variable width or unsupported field
+                return template;
+            }
+
+            if (null != literal) {
+                width = literal.length();
+                if (ofs + width > MAX_LENGTH)
+                    return template;
+
+                for (int i = 0; i < width; ++i) {
+                    char ch = literal.charAt(i);
+                    // Non-ASCII input characters are loaded as 0x80, and never match
+                    if (ch < 0x20 || ch > 0x7E)
+                        return template;
+
+                    literals[(ofs + i) >> 3] |= (long)ch << ((ofs + i) << 3);
+                }
+            } else {
+                if (ofs + width > MAX_LENGTH)
+                    return template;
+
+                for (int i = ofs; i < ofs + width; ++i)
+                    digits[i >> 3] |= 0xFFL << (i << 3);
+
+                kinds[nFields] = kind;
+                positions[nFields] = ofs;
+                widths[nFields++] = width;
+            }
+
+            ofs += width;
+        }
+
+        return new FixedWidthParseTemplate(template, ofs, digits, literals,
+                java.util.Arrays.copyOf(kinds, nFields), java.util.Arrays.copyOf(positions, nFields),
+                java.util.Arrays.copyOf(widths, nFields));
+    }
+
+    // Loads lane k: up to 8 characters starting at ofs + 8k, the first one in the lowest byte
+    private long load(CharSequence from, int ofs, int k) {
+        int i = k << 3, n = Math.min(length - i, 8);
+        if (n <= 0)
+            return 0;
+
+        // Byte input is read with 64-bit loads
+        if (from instanceof ByteSequence)
+            return ((ByteSequence)from).lane(ofs + i, n);
+
+        long lane = 0;
+        for (int j = ofs + i + n - 1; j >= ofs + i; --j)
+            lane = lane << 8 | Math.min(from.charAt(j), 0x80);
+
+        return lane;
+    }
+
+    // True if all digit positions contain '0'..'9' and all the others match the literals
+    private boolean isValid(long lane, int k) {
+        long d = digits[k], t = lane & d;
+        return (lane & ~d) == literals[k]
+                & (t & (HIGH_NIBBLES & d)) == (ZEROS & d)
+                & (t + (SIXES & d) & (HIGH_NIBBLES & d)) == (ZEROS & d);
+    }
+
+    // Converts up to 8 digit values, the most significant one in the lowest byte
+    private static int decimal(long d, int width) {
+        d = d << ((8 - width) << 3);
+        d = d * 10 + (d >>> 8) & 0x00FF00FF00FF00FFL;
+        d = d * 100 + (d >>> 16) & 0x0000FFFF0000FFFFL;
+        return (int)(d * 10000 + (d >>> 32));
+    }
+
+    // 8 digit values starting at byte position i of the lanes, zero-filled past the end
+    private static long window(long l0, long l1, long l2, long l3, int i) {
+        long lo, hi;
+        switch (i >> 3) {
+            case 0:
+                lo = l0; hi = l1;
+                break;
+            case 1:
+                lo = l1; hi = l2;
+                break;
+            case 2:
+                lo = l2; hi = l3;
+                break;
+            default:
+                lo = l3; hi = 0;
+        }
+
+        int s = (i & 7) << 3;
+        return 0 == s ? lo : lo >>> s | hi << (64 - s);
+    }
+
+    @Override
+    public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
+        int length = this.length;
+        if (ofs + length > from.length())
+            return generic.parse(from, ofs, dst);
+
+        final long[] digits = this.digits;
+        long l0 = load(from, ofs, 0), l1 = load(from, ofs, 1), l2 = load(from, ofs, 2), l3 = load(from, ofs, 3);
+        if (!(isValid(l0, 0) & isValid(l1, 1) & isValid(l2, 2) & isValid(l3, 3)))
+            return generic.parse(from, ofs, dst);
+
+        // Characters to digit values, literals to 0
+        l0 = (l0 & digits[0]) - (ZEROS & digits[0]);
+        l1 = (l1 & digits[1]) - (ZEROS & digits[1]);
+        l2 = (l2 & digits[2]) - (ZEROS & digits[2]);
+        l3 = (l3 & digits[3]) - (ZEROS & digits[3]);
+
+        final int[] kinds = this.kinds, positions = this.positions, widths = this.widths;
+        for (int i = 0, n = kinds.length; i < n; ++i) {
+            int pos = positions[i], width = widths[i];
+            long w = window(l0, l1, l2, l3, pos);
+            int x;
+            if (width <= 8) {
+                x = decimal(8 == width ? w : w & (1L << (width << 3)) - 1, width);
+            } else {
+                x = decimal(w, 8) * 10 + ((int)window(l0, l1, l2, l3, pos + 8) & 0xFF);
+            }
+
+            switch (kinds[i]) {
+                case YEAR:
+                    ((ParsedDateTimeValue)dst).year = x;
+                    break;
+                case MONTH:
+                    ((ParsedDateTimeValue)dst).month = x;
+                    break;
+                case DAY:
+                    ((ParsedDateTimeValue)dst).day = x;
+                    break;
+                case HOUR:
+                    dst.x += x * Convert.NS_IN_HOUR;
+                    break;
+                case MINUTE:
+                    dst.x += x * Convert.NS_IN_MINUTE;
+                    break;
+                case SECOND:
+                    dst.x += x * Convert.NS_IN_SECOND;
+                    break;
+                default:
+                    dst.x += (long)x * CompiledTemplates.SCALE[width];
+            }
+        }
+
+        return ofs + length;
+    }
+}
\ No newline at end of file
@@ -25,4 +25,14 @@ public interface Formattable {
      * @return new write offset value
      */
     int format(char[] to, int ofs, Components components);
+
+    /**
+     * Same as {@link #format(char[], int, Components)}, but writes 8-bit (Latin-1) characters
+     *
+     * @param to destination byte array. Should be big enough to hold the resulting value
+     * @param ofs write offset
+     * @param components date/time components
+     * @return new write offset value
+     */
+    int format(byte[] to, int ofs, Components components);
 }
\ No newline at end of file
@@ -17,8 +17,9 @@
 package com.epam.deltix.hdtime;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
 
 class Formatters {
     int MAX_SERIALIZERS = 0x100;
@@ -55,23 +56,78 @@ class Formatters {
     }
 
 
+    /**
+     * Incremental DateTime formatting state for one of the Context buffers.
+     * Output of the last value stays in the buffer until overwritten by another formatting call, in which case
+     * the template reference is cleared.
+     */
+    static final class LastOutput {
+        FormatTemplate template;            // Template of the output currently in the buffer, or null
+        int start;                          // Output start offset in the buffer
+        long second;                        // Start of the second of the output in the buffer
+        long dayStart = Long.MIN_VALUE;     // Start of the day of the cached date
+        int civil;                          // Cached date, see Convert.DateTime
+
+        void toComponents(long dt, Components components) {
+            long timeOfDay = dt - dayStart;
+            // Unsigned comparison also catches dt < dayStart
+            if (Long.compareUnsigned(timeOfDay, Convert.NS_IN_DAY) >= 0) {
+                int day = Convert.DateTime.toEpochDays(dt);
+                dayStart = day * Convert.NS_IN_DAY;
+                timeOfDay = dt - dayStart;
+                civil = DayTable.ENABLED ? DayTable.civil(day) : Convert.DateTime.civilFromEpochDays(day);
+            }
+
+            Convert.DateTime.civilToComponents(civil, components);
+            Convert.DateTime.timeOfDayToComponents(timeOfDay, components);
+        }
+
+        void set(FormatTemplate template, int start, long second) {
+            this.template = template.tail >= 0 ? template : null;
+            this.start = start;
+            this.second = second;
+        }
+    }
+
     static class Context {
-        static final HashMap<String, FormatTemplate> globalTsTemplateCache = new HashMap<>();
-        static final HashMap<String, FormatTemplate> globalDtTemplateCache = new HashMap<>();
+        static final TemplateCache<FormatTemplate> globalTsTemplateCache = new TemplateCache<>();
+        static final TemplateCache<FormatTemplate> globalDtTemplateCache = new TemplateCache<>();
 
         public final Components components = new Components();
         public final char[] buffer = new char[BUFFER_LENGTH];
+        public final byte[] bytes = new byte[BUFFER_LENGTH];
+        final LastOutput lastChars = new LastOutput();
+        final LastOutput lastBytes = new LastOutput();
         public CharSequence bufferWrapper = java.nio.CharBuffer.wrap(buffer); // Also try https://gist.github.com/ncruces/ca9f91d89630d27ff05e35410a89022b
 
         public Formatter dateTimeFormatter = new DateTime(globalDtTemplateCache);
-        final HashMap<String, FormatTemplate> dtTemplateCache = new HashMap<>();
+        final LocalTemplateCache<FormatTemplate> dtTemplateCache = new LocalTemplateCache<>();
         public String lastDtFmtStr;
         public FormatTemplate lastDtTemplate;
 
         public Formatter timeSpanFormatter = new TimeSpan(globalTsTemplateCache);
-        final HashMap<String, FormatTemplate> tsTemplateCache = new HashMap<>();
+        final LocalTemplateCache<FormatTemplate> tsTemplateCache = new LocalTemplateCache<>();
         public String lastTsFmtStr;
         public FormatTemplate lastTsTemplate;
+
+        FormatTemplate getDtTemplate(final String fmt) {
+            // Identity check is enough, most callers pass constant format strings
+            if (fmt != lastDtFmtStr) {
+                lastDtTemplate = dateTimeFormatter.getTemplate(fmt, dtTemplateCache);
+                lastDtFmtStr = fmt;
+            }
+
+            return lastDtTemplate;
+        }
+
+        FormatTemplate getTsTemplate(final String fmt) {
+            if (fmt != lastTsFmtStr) {
+                lastTsTemplate = timeSpanFormatter.getTemplate(fmt, tsTemplateCache);
+                lastTsFmtStr = fmt;
+            }
+
+            return lastTsTemplate;
+        }
     }
 
     static class Print {
@@ -181,12 +237,125 @@ class Formatters {
 
             return ofs;
         }
+
+        // region byte[] versions, ASCII output
+
+        static public int dec1(byte[] to, int ofs, int x) {
+            to[ofs] = (byte)('0' + x);
+            return ofs - 1;
+        }
+
+        static public int dec2(byte[] to, int ofs, int x) {
+            int x10 = x / 10;
+            int newOfs = x >= 10 ? ofs - 2 : ofs - 1;
+            to[ofs - 1] = (byte)('0' + x10);
+            to[ofs] = (byte)(x + '0' - x10 * 10);
+            return newOfs;
+        }
+
+        static public int dec3(byte[] to, int ofs, int x) {
+            int x10 = x / 10;
+            to[ofs--] = (byte)(x + '0' - x10 * 10);
+            int x100 = x10 / 10;
+            to[ofs - 1] = (byte)('0' + x100);
+            int newOfs = x >= 100 ? ofs - 2 : x >= 10 ?  ofs - 1 : ofs;
+            to[ofs] = (byte)(x10 + '0' - x100 * 10);
+            return newOfs;
+        }
+
+        static public int dec2w2(byte[] to, int ofs, int c) {
+            int hi = c / 10;
+            to[ofs - 1] = (byte)('0' + hi);
+            to[ofs] = (byte)('0' + c - hi * 10);
+            return ofs - 2;
+        }
+
+        static public int dec3w2(byte[] to, int ofs, int c) {
+            int hi = c / 100;
+            to[ofs - 2] = (byte)('0' + hi);
+            dec2w2(to, ofs, c - hi * 100);
+            return c >= 100 ? ofs - 3 : ofs - 2;
+        }
+
+        static public int  dec3w3(byte[] to, int ofs, int c) {
+            int hi = c / 100;
+            to[ofs - 2] = (byte)('0' + hi);
+            dec2w2(to, ofs, c - hi * 100);
+            return ofs - 3;
+        }
+
+        public static int dec4w4(byte[] to, int ofs, int value) {
+            int hi = value / 100;
+            dec2w2(to, ofs - 2 , hi);
+            dec2w2(to, ofs, value - hi * 100);
+            return ofs - 4;
+        }
+
+        public static int dec(byte[] to, int ofs, int x) {
+
+            do {
+                int y = x / 10;
+                to[ofs--] = (byte)(x + '0' - y * 10);
+                x = y;
+            } while (x != 0);
+
+            return ofs;
+        }
+
+        public static int dec(byte[] to, int ofs, int x, int n) {
+
+            ofs -= n;
+            do {
+                int y = x / 10;
+                to[ofs + n] = (byte)(x + '0' - y * 10);
+                x = y;
+            } while (--n != 0);
+
+            return ofs;
+        }
+
+        public static int sign(byte[] to, int ofs, int sign) {
+            assert sign == 0 || sign == -1;
+            to[ofs] = '-';
+            return ofs + sign;
+        }
+
+        public static int str(byte[] to, int ofs, String str) {
+            return str(to, ofs, str, str.length());
+        }
+
+        public static int str(byte[] to, int ofs, String str, int n) {
+
+            ofs -= n;
+            for (int i = n - 1; i >= 0; --i)
+                to[ofs + 1 + i] = (byte)str.charAt(i);
+
+            return ofs;
+        }
+
+        public static int str(byte[] to, int ofs, byte[] str) {
+            return str(to, ofs, str, str.length);
+        }
+
+        public static int str(byte[] to, int ofs, byte[] str, int n) {
+            ofs -= n;
+            for (int i = n - 1; i >= 0; --i)
+                to[ofs + 1 + i] = str[i];
+
+            return ofs;
+        }
+
+        // endregion byte[] versions, ASCII output
     }
 
     abstract static class Field extends FormatField implements Formattable {
     }
 
     static abstract class StaticField extends StaticFormatField implements Formattable {
+        // Static text that can't be represented in Latin-1 is written as '?' by byte[] formatting methods
+        boolean isLatin1() {
+            return true;
+        }
     }
 
     static class Fail extends StaticField {
@@ -200,17 +369,29 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             throw new UnsupportedOperationException(str);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            throw new UnsupportedOperationException(str);
+        }
     }
 
     static class StringField extends StaticField {
         final char[] chars;
+        final byte[] bytes;
         final int hashCode;
 
         StringField(String str) {
             this.chars = str.toCharArray();
+            this.bytes = str.getBytes(StandardCharsets.ISO_8859_1);
             hashCode = super.hashCode() ^ str.hashCode();
         }
 
+        @Override
+        boolean isLatin1() {
+            return new String(bytes, StandardCharsets.ISO_8859_1).equals(toString());
+        }
+
         @Override
         public int hashCode() {
             return hashCode;
@@ -226,6 +407,11 @@ class Formatters {
             return Print.str(to, ofs, chars);
         }
 
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.str(to, ofs, bytes);
+        }
+
         @Override
         public String toString() { return new String(chars); }
 //
@@ -252,6 +438,11 @@ class Formatters {
             this.ch = ch;
         }
 
+        @Override
+        boolean isLatin1() {
+            return ch < 0x100;
+        }
+
         @Override
         public int hashCode() {
             return super.hashCode() * 31 ^ ch;
@@ -268,6 +459,13 @@ class Formatters {
             to[ofs] = ch;
             return ofs - 1;
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+
+            to[ofs] = (byte)(ch < 0x100 ? ch : '?');
+            return ofs - 1;
+        }
     }
 
 
@@ -276,6 +474,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.sign(to, ofs, components.sign);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.sign(to, ofs, components.sign);
+        }
     }
 
     static class YearsField2w02 extends Field {
@@ -283,6 +486,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2w2(to, ofs, components.year % 100);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2w2(to, ofs, components.year % 100);
+        }
     }
 
     static class YearsField4w04 extends Field {
@@ -290,6 +498,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec4w4(to, ofs, components.year);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec4w4(to, ofs, components.year);
+        }
     }
 
     static class MonthNumField2 extends Field {
@@ -297,6 +510,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2(to, ofs, components.month);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2(to, ofs, components.month);
+        }
     }
 
     static class MonthNumField2w02 extends Field {
@@ -304,6 +522,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2w2(to, ofs, components.month);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2w2(to, ofs, components.month);
+        }
     }
 
     static class MonthTextField3w3 extends Field {
@@ -311,6 +534,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.str(to, ofs, Months.MONTHS3[components.month], 3);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.str(to, ofs, Months.MONTHS3[components.month], 3);
+        }
     }
 
     static class MonthTextField extends Field {
@@ -334,6 +562,21 @@ class Formatters {
 
             return ofs;
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            String s = Months.MONTHS[components.month];
+            int len = s.length();
+            Print.str(to, ofs, Months.MONTHS[components.month], len);
+            ofs -= len;
+            if (len < n) {
+                for (int i = n - len; i != 0; --i) {
+                    to[ofs--] = ' ';
+                }
+            }
+
+            return ofs;
+        }
     }
 
     static class DaysCountField extends Field {
@@ -341,6 +584,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec(to, ofs, components.day);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec(to, ofs, components.day);
+        }
     }
 
     static class DayInMonthField2 extends Field {
@@ -348,6 +596,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2(to, ofs, components.day);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2(to, ofs, components.day);
+        }
     }
 
     static class DayInMonthField2w02 extends Field {
@@ -355,6 +608,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2w2(to, ofs, components.day);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2w2(to, ofs, components.day);
+        }
     }
 
     static class Hours24Field2 extends Field {
@@ -362,6 +620,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2(to, ofs, components.hour);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2(to, ofs, components.hour);
+        }
     }
 
     static class Hours24Field2w02 extends Field {
@@ -369,6 +632,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2w2(to, ofs, components.hour);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2w2(to, ofs, components.hour);
+        }
     }
 
     static class MinutesField2 extends Field {
@@ -376,6 +644,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2(to, ofs, components.minute);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2(to, ofs, components.minute);
+        }
     }
 
     static class MinutesField2w02 extends Field {
@@ -383,6 +656,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2w2(to, ofs, components.minute);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2w2(to, ofs, components.minute);
+        }
     }
 
     static class SecondsField2 extends Field {
@@ -395,6 +673,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2(to, ofs, components.second);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2(to, ofs, components.second);
+        }
     }
 
     static class SecondsField2w02 extends Field {
@@ -402,6 +685,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2w2(to, ofs, components.second);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2w2(to, ofs, components.second);
+        }
     }
 
     static class MillisecondsField3 extends Field {
@@ -409,6 +697,11 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec3(to, ofs, components.nanosecond / 1000000);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec3(to, ofs, components.nanosecond / 1000000);
+        }
     }
 
     static class MillisecondsField3w02 extends Field {
@@ -416,77 +709,207 @@ class Formatters {
         public int format(char[] to, int ofs, Components components) {
             return Print.dec3w2(to, ofs, components.nanosecond / 1000000);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec3w2(to, ofs, components.nanosecond / 1000000);
+        }
     }
 
-    static class FractionsField9 extends Field {
+    // Fixed width sub-second fields
+    abstract static class FractionsField extends Field {
+        final int width;
+
+        FractionsField(int width) {
+            this.width = width;
+        }
+    }
+
+    static class FractionsField9 extends FractionsField {
+        FractionsField9() {
+            super(9);
+        }
+
         @Override
         public int format(char[] to, int ofs, Components components) {
             return Print.dec(to, ofs, components.nanosecond, 9);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec(to, ofs, components.nanosecond, 9);
+        }
     }
 
-    static class FractionsField8 extends Field {
+    static class FractionsField8 extends FractionsField {
+        FractionsField8() {
+            super(8);
+        }
+
         @Override
         public int format(char[] to, int ofs, Components components) {
             return Print.dec(to, ofs, components.nanosecond / 10, 8);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec(to, ofs, components.nanosecond / 10, 8);
+        }
     }
 
-    static class FractionsField7 extends Field {
+    static class FractionsField7 extends FractionsField {
+        FractionsField7() {
+            super(7);
+        }
+
         @Override
         public int format(char[] to, int ofs, Components components) {
             return Print.dec(to, ofs, components.nanosecond / 100, 7);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec(to, ofs, components.nanosecond / 100, 7);
+        }
     }
 
-    static class FractionsField6 extends Field {
+    static class FractionsField6 extends FractionsField {
+        FractionsField6() {
+            super(6);
+        }
+
         @Override
         public int format(char[] to, int ofs, Components components) {
             return Print.dec(to, ofs, components.nanosecond / 1000, 6);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec(to, ofs, components.nanosecond / 1000, 6);
+        }
     }
 
-    static class FractionsField5 extends Field {
+    static class FractionsField5 extends FractionsField {
+        FractionsField5() {
+            super(5);
+        }
+
         @Override
         public int format(char[] to, int ofs, Components components) {
             return Print.dec(to, ofs, components.nanosecond / 10000, 5);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec(to, ofs, components.nanosecond / 10000, 5);
+        }
     }
 
-    static class FractionsField4 extends Field {
+    static class FractionsField4 extends FractionsField {
+        FractionsField4() {
+            super(4);
+        }
+
         @Override
         public int format(char[] to, int ofs, Components components) {
             return Print.dec4w4(to, ofs, components.nanosecond / 100000);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec4w4(to, ofs, components.nanosecond / 100000);
+        }
     }
 
-    static class FractionsField3 extends Field {
+    static class FractionsField3 extends FractionsField {
+        FractionsField3() {
+            super(3);
+        }
+
         // Also used for Millis field
         @Override
         public int format(char[] to, int ofs, Components components) {
             return Print.dec3w3(to, ofs, components.nanosecond / 1000000);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec3w3(to, ofs, components.nanosecond / 1000000);
+        }
     }
 
-    static class FractionsField2 extends Field {
+    static class FractionsField2 extends FractionsField {
+        FractionsField2() {
+            super(2);
+        }
+
         @Override
         public int format(char[] to, int ofs, Components components) {
             return Print.dec2w2(to, ofs, components.nanosecond / 10000000);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec2w2(to, ofs, components.nanosecond / 10000000);
+        }
     }
 
-    static class FractionsField1 extends Field {
+    static class FractionsField1 extends FractionsField {
+        FractionsField1() {
+            super(1);
+        }
+
         @Override
         public int format(char[] to, int ofs, Components components) {
             return Print.dec1(to, ofs, components.nanosecond / 100000000);
         }
+
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            return Print.dec1(to, ofs, components.nanosecond / 100000000);
+        }
     }
 
     static class FormatTemplate implements Formattable {
         final Formattable[] fields;
+        final boolean latin1;
+        // Fields [tail, fields.length) only depend on the nanosecond component and have fixed width,
+        // and the rest of the fields don't depend on it. tail == -1 if the template can't be split this way
+        final int tail;
 
         FormatTemplate(final Formattable[] fields) {
             this.fields = fields;
+            boolean latin1 = true;
+            for (Formattable f : fields)
+                latin1 &= !(f instanceof StaticField) || ((StaticField)f).isLatin1();
+
+            this.latin1 = latin1;
+            int tail = fields.length;
+            for (Formattable f; tail > 0 && ((f = fields[tail - 1]) instanceof FractionsField
+                    || f instanceof StringField || f instanceof CharField); --tail) {}
+
+            for (int i = 0; i < tail; ++i) {
+                Formattable f = fields[i];
+                if (f instanceof FractionsField || f instanceof MillisecondsField3 || f instanceof MillisecondsField3w02)
+                    tail = -1;
+            }
+
+            this.tail = tail;
+        }
+
+        // Formats only the tail fields, the rest of the output is expected to be already in the buffer
+        int formatTail(char[] to, int ofs, Components components) {
+            for (int i = fields.length - 1, tail = this.tail; i >= tail ; --i)
+                ofs = fields[i].format(to, ofs, components);
+
+            return ofs;
+        }
+
+        int formatTail(byte[] to, int ofs, Components components) {
+            for (int i = fields.length - 1, tail = this.tail; i >= tail ; --i)
+                ofs = fields[i].format(to, ofs, components);
+
+            return ofs;
         }
 
         @Override
@@ -497,6 +920,14 @@ class Formatters {
             return ofs;
         }
 
+        @Override
+        public int format(byte[] to, int ofs, Components components) {
+            for (int i = fields.length - 1; i >= 0 ; --i)
+                ofs = fields[i].format(to, ofs, components);
+
+            return ofs;
+        }
+
         String format(Components components) {
             // TODO: Temporary implementation, remove soon
             char[] tmp = new char[0x100];
@@ -526,11 +957,11 @@ class Formatters {
      */
     protected static abstract class Formatter implements FormatString.Target {
         // Static Fields
-        protected final HashMap<String,FormatTemplate> globalTemplateCache; // Set by a child
+        protected final TemplateCache<FormatTemplate> globalTemplateCache; // Set by a child
         // Instance fields
         protected final FormatTemplate.Builder fb = new FormatTemplate.Builder();
 
-        Formatter(HashMap<String,FormatTemplate> globalTemplateCache) {
+        Formatter(TemplateCache<FormatTemplate> globalTemplateCache) {
             this.globalTemplateCache = globalTemplateCache;
         }
 
@@ -554,26 +985,14 @@ class Formatters {
             FormatString.parse(fmt, this);
         }
 
-        protected FormatTemplate getCachedOrNewTemplate(final String fmt, final HashMap<String, FormatTemplate> local) {
-            FormatTemplate f;
-            final HashMap<String, FormatTemplate> global = globalTemplateCache;
-            // Try to find in the global formatter cache
-            synchronized (global) {
-                f = global.get(fmt);
-            }
-
+        protected FormatTemplate getCachedOrNewTemplate(final String fmt, final LocalTemplateCache<FormatTemplate> local) {
+            // Try to find in the global cache
+            FormatTemplate f = globalTemplateCache.get(fmt);
             if (null == f) {
                 fb.clear();
                 parseFormat(fmt);
-                f = fb.get();
-                synchronized (global) {
-                    FormatTemplate tmp = global.get(fmt);
-                    if (null == tmp)
-                        global.put(fmt, f);
-                    else
-                        f = tmp;
-                }
-
+                // Another thread may have inserted the same format meanwhile, use the cached one then
+                f = globalTemplateCache.putIfAbsent(fmt, newTemplate());
                 assert (null != f);
             }
 
@@ -582,7 +1001,11 @@ class Formatters {
             return f;
         }
 
-        protected FormatTemplate getTemplate(final String fmt, final HashMap<String, FormatTemplate> local) {
+        protected FormatTemplate newTemplate() {
+            return CompiledTemplates.compile(fb.get());
+        }
+
+        protected FormatTemplate getTemplate(final String fmt, final LocalTemplateCache<FormatTemplate> local) {
             FormatTemplate f;
             return null != (f = local.get(fmt)) ? f : getCachedOrNewTemplate(fmt, local);
         }
@@ -590,6 +1013,53 @@ class Formatters {
         protected static int format(char[] buffer, Components components, FormatTemplate f) {
             return f.format(buffer, BUFFER_LENGTH - 1, components);
         }
+
+        protected static int format(byte[] buffer, Components components, FormatTemplate f) {
+            return f.format(buffer, BUFFER_LENGTH - 1, components);
+        }
+
+        // region Formatter: output helpers shared by DateTime and TimeSpan
+
+        static String newString(Context ctx, int start, FormatTemplate f) {
+            // Latin-1 template output is built from bytes, so the compact String is created without char[] inflation
+            return f.latin1
+                    ? new String(ctx.bytes, start, BUFFER_LENGTH - start, StandardCharsets.ISO_8859_1)
+                    : new String(ctx.buffer, start, BUFFER_LENGTH - start);
+        }
+
+        static int copyBytes(Context ctx, int start, byte[] to, int ofs) {
+            int n = BUFFER_LENGTH - start;
+            System.arraycopy(ctx.bytes, start, to, ofs, n);
+            return ofs + n;
+        }
+
+        static ByteBuffer copyBytes(Context ctx, int start, ByteBuffer to) {
+            return to.put(ctx.bytes, start, BUFFER_LENGTH - start);
+        }
+
+        static int copyChars(Context ctx, int start, char[] to, int ofs) {
+            int n = BUFFER_LENGTH - start;
+            System.arraycopy(ctx.buffer, start, to, ofs, n);
+            return ofs + n;
+        }
+
+        static int copy(String str, char[] to, int ofs) {
+            int n = str.length();
+            str.getChars(0, n, to, ofs);
+            return ofs + n;
+        }
+
+        static int copy(String str, byte[] to, int ofs) {
+            // Same conversion as for StringField
+            for (int i = 0, n = str.length(); i < n; ++i) {
+                char ch = str.charAt(i);
+                to[ofs++] = (byte)(ch < 0x100 ? ch : '?');
+            }
+
+            return ofs;
+        }
+
+        // endregion Formatter: output helpers shared by DateTime and TimeSpan
     }
 
     /**
@@ -600,7 +1070,7 @@ class Formatters {
         protected static final Formattable[][] fields;
         protected static final int[] fieldLengths;
 
-        DefaultTimeFormatter(HashMap<String, FormatTemplate> globalTemplateCache) {
+        DefaultTimeFormatter(TemplateCache<FormatTemplate> globalTemplateCache) {
             super(globalTemplateCache);
         }
 
@@ -708,7 +1178,7 @@ class Formatters {
         protected static final Formattable[][] fields;
         protected static final int[] fieldLengths;
 
-        DateTime(HashMap<String, FormatTemplate> globalTemplateCache) {
+        DateTime(TemplateCache<FormatTemplate> globalTemplateCache) {
             super(globalTemplateCache);
         }
 
@@ -762,27 +1232,199 @@ class Formatters {
 
         // endregion Formatter: FormatString delegate
 
-        static int formatChars(long ts, final String fmt, Context ctx, char[] buffer) {
+        @Override
+        protected FormatTemplate newTemplate() {
+            return IsoFormatTemplate.specialize(super.newTemplate());
+        }
+
+        static FormatTemplate getTemplate(final String fmt) {
+            return tls.get().getDtTemplate(fmt);
+        }
+
+        static int formatChars(long ts, final FormatTemplate f, Context ctx, char[] buffer) {
             Components components = ctx.components;
             Convert.DateTime.toComponents(ts, components);
-            // TODO: This code can now be simplified by moving methods/fields to Formatter instance
-            return 1 + format(
-                    buffer,
-                    components,
-                    fmt == ctx.lastDtFmtStr ? ctx.lastDtTemplate : ctx.dateTimeFormatter.getTemplate(fmt, ctx.dtTemplateCache));
+            ctx.lastChars.template = null;
+            return 1 + format(buffer, components, f);
         }
 
-        static String format(long ts, final String fmt) {
+        static int formatBytes(long ts, final FormatTemplate f, Context ctx) {
+            Components components = ctx.components;
+            Convert.DateTime.toComponents(ts, components);
+            ctx.lastBytes.template = null;
+            return 1 + format(ctx.bytes, components, f);
+        }
+
+        static String format(long ts, final FormatTemplate f) {
+            Context ctx = tls.get();
+            int start = f.latin1 ? formatBytes(ts, f, ctx) : formatChars(ts, f, ctx, ctx.buffer);
+            return newString(ctx, start, f);
+        }
+
+        // region Incremental formatting
+
+        // For a value from the same second as the previous one, formatted with the same template,
+        // only the sub-second tail of the template is rewritten. Date is only recomputed when the day changes
+
+        static int formatCharsIncremental(long ts, final FormatTemplate f, Context ctx) {
+            LastOutput last = ctx.lastChars;
+            Components components = ctx.components;
+            long ns = ts - last.second;
+            if (f == last.template && Long.compareUnsigned(ns, Convert.NS_IN_SECOND) < 0) {
+                components.nanosecond = (int)ns;
+                f.formatTail(ctx.buffer, BUFFER_LENGTH - 1, components);
+                return last.start;
+            }
+
+            last.toComponents(ts, components);
+            int start = 1 + format(ctx.buffer, components, f);
+            last.set(f, start, ts - components.nanosecond);
+            return start;
+        }
+
+        static int formatBytesIncremental(long ts, final FormatTemplate f, Context ctx) {
+            LastOutput last = ctx.lastBytes;
+            Components components = ctx.components;
+            long ns = ts - last.second;
+            if (f == last.template && Long.compareUnsigned(ns, Convert.NS_IN_SECOND) < 0) {
+                components.nanosecond = (int)ns;
+                f.formatTail(ctx.bytes, BUFFER_LENGTH - 1, components);
+                return last.start;
+            }
+
+            last.toComponents(ts, components);
+            int start = 1 + format(ctx.bytes, components, f);
+            last.set(f, start, ts - components.nanosecond);
+            return start;
+        }
+
+        static String formatIncremental(long ts, final FormatTemplate f) {
+            Context ctx = tls.get();
+            int start = f.latin1 ? formatBytesIncremental(ts, f, ctx) : formatCharsIncremental(ts, f, ctx);
+            return newString(ctx, start, f);
+        }
+
+        static Appendable formatIncremental(long ts, final FormatTemplate f, Appendable appendable) throws IOException {
+            Context ctx = tls.get();
+            int start = formatCharsIncremental(ts, f, ctx);
+            return appendable.append(ctx.bufferWrapper, start, BUFFER_LENGTH);
+        }
+
+        static StringBuilder formatIncremental(long ts, final FormatTemplate f, StringBuilder sb) {
+            Context ctx = tls.get();
+            int start = formatCharsIncremental(ts, f, ctx);
+            return sb.append(ctx.buffer, start, BUFFER_LENGTH - start);
+        }
+
+        static int formatIncremental(long ts, final FormatTemplate f, char[] to, int ofs) {
+            Context ctx = tls.get();
+            int start = formatCharsIncremental(ts, f, ctx);
+            int n = BUFFER_LENGTH - start;
+            System.arraycopy(ctx.buffer, start, to, ofs, n);
+            return ofs + n;
+        }
+
+        static int formatIncremental(long ts, final FormatTemplate f, byte[] to, int ofs) {
+            Context ctx = tls.get();
+            return copyBytes(ctx, formatBytesIncremental(ts, f, ctx), to, ofs);
+        }
+
+        static ByteBuffer formatIncremental(long ts, final FormatTemplate f, ByteBuffer to) {
+            Context ctx = tls.get();
+            return copyBytes(ctx, formatBytesIncremental(ts, f, ctx), to);
+        }
+
+        // endregion Incremental formatting
+
+        // region Batch formatting
+
+        // Values are separated by the delimiter, the terminator is written after the last value.
+        // Incremental formatting is used, so the date is only computed once per day, and for values from the same second
+        // only the sub-second fields are rewritten
+
+        static int format(long[] src, int srcOfs, int length, final FormatTemplate f,
+                          String delimiter, String terminator, char[] to, int ofs) {
+            Context ctx = tls.get();
+            for (int i = 0; i < length; ++i) {
+                if (0 != i)
+                    ofs = copy(delimiter, to, ofs);
+
+                ofs = copyChars(ctx, formatCharsIncremental(src[srcOfs + i], f, ctx), to, ofs);
+            }
+
+            return copy(terminator, to, ofs);
+        }
+
+        static int format(long[] src, int srcOfs, int length, final FormatTemplate f,
+                          String delimiter, String terminator, byte[] to, int ofs) {
+            Context ctx = tls.get();
+            for (int i = 0; i < length; ++i) {
+                if (0 != i)
+                    ofs = copy(delimiter, to, ofs);
+
+                ofs = copyBytes(ctx, formatBytesIncremental(src[srcOfs + i], f, ctx), to, ofs);
+            }
+
+            return copy(terminator, to, ofs);
+        }
+
+        static StringBuilder format(long[] src, int srcOfs, int length, final FormatTemplate f,
+                                    String delimiter, String terminator, StringBuilder sb) {
             Context ctx = tls.get();
             char[] buffer = ctx.buffer;
-            int start = formatChars(ts, fmt, ctx, buffer);
-            return new String(ctx.buffer, start, BUFFER_LENGTH - start);
+            for (int i = 0; i < length; ++i) {
+                if (0 != i)
+                    sb.append(delimiter);
+
+                int start = formatCharsIncremental(src[srcOfs + i], f, ctx);
+                sb.append(buffer, start, BUFFER_LENGTH - start);
+            }
+
+            return sb.append(terminator);
+        }
+
+        // endregion Batch formatting
+
+        static int format(long ts, final FormatTemplate f, char[] to, int ofs) {
+            Context ctx = tls.get();
+            int start = formatChars(ts, f, ctx, ctx.buffer);
+            int n = BUFFER_LENGTH - start;
+            System.arraycopy(ctx.buffer, start, to, ofs, n);
+            return ofs + n;
+        }
+
+        static StringBuilder format(long ts, final FormatTemplate f, StringBuilder sb) {
+            Context ctx = tls.get();
+            int start = formatChars(ts, f, ctx, ctx.buffer);
+            return sb.append(ctx.buffer, start, BUFFER_LENGTH - start);
+        }
+
+        static int format(long ts, final FormatTemplate f, byte[] to, int ofs) {
+            Context ctx = tls.get();
+            return copyBytes(ctx, formatBytes(ts, f, ctx), to, ofs);
+        }
+
+        static ByteBuffer format(long ts, final FormatTemplate f, ByteBuffer to) {
+            Context ctx = tls.get();
+            return copyBytes(ctx, formatBytes(ts, f, ctx), to);
+        }
+
+        static Appendable format(long ts, final FormatTemplate f, Appendable appendable) throws IOException {
+            Context ctx = tls.get();
+            int start = formatChars(ts, f, ctx, ctx.buffer);
+            return appendable.append(ctx.bufferWrapper, start, BUFFER_LENGTH);
+        }
+
+        static String format(long ts, final String fmt) {
+            Context ctx = tls.get();
+            FormatTemplate f = ctx.getDtTemplate(fmt);
+            int start = f.latin1 ? formatBytes(ts, f, ctx) : formatChars(ts, f, ctx, ctx.buffer);
+            return newString(ctx, start, f);
         }
 
         public static Appendable format(long ts, String fmt, Appendable appendable) throws IOException {
             Context ctx = tls.get();
-            char[] buffer = ctx.buffer;
-            int start = formatChars(ts, fmt, ctx, buffer);
+            int start = formatChars(ts, ctx.getDtTemplate(fmt), ctx, ctx.buffer);
             return appendable.append(ctx.bufferWrapper, start, BUFFER_LENGTH);
         }
     }
@@ -791,7 +1433,7 @@ class Formatters {
         protected static final Formattable[][] fields;
         protected static final int[] fieldLengths;
 
-        TimeSpan(HashMap<String, FormatTemplate> globalTemplateCache) {
+        TimeSpan(TemplateCache<FormatTemplate> globalTemplateCache) {
             super(globalTemplateCache);
         }
 
@@ -854,30 +1496,118 @@ class Formatters {
             }
         }
 
-        static int formatChars(long ts, final String fmt, Context ctx, char[] buffer) {
+        static FormatTemplate getTemplate(final String fmt) {
+            return tls.get().getTsTemplate(fmt);
+        }
+
+        static int formatChars(long ts, final FormatTemplate f, Context ctx, char[] buffer) {
             Components components = ctx.components;
             Convert.TimeSpan.toComponents(ts, components);
-            // TODO: This code can now be simplified by moving methods/fields to Formatter instance
-            return 1 + format(
-                    buffer,
-                    components,
-                    fmt == ctx.lastTsFmtStr ? ctx.lastTsTemplate : ctx.timeSpanFormatter.getTemplate(fmt, ctx.tsTemplateCache));
+            ctx.lastChars.template = null;
+            return 1 + format(buffer, components, f);
         }
 
-        static String format(long ts, final String fmt) {
+        static int formatBytes(long ts, final FormatTemplate f, Context ctx) {
+            Components components = ctx.components;
+            Convert.TimeSpan.toComponents(ts, components);
+            ctx.lastBytes.template = null;
+            return 1 + format(ctx.bytes, components, f);
+        }
+
+        static String format(long ts, final FormatTemplate f) {
+            Context ctx = tls.get();
+            int start = f.latin1 ? formatBytes(ts, f, ctx) : formatChars(ts, f, ctx, ctx.buffer);
+            return newString(ctx, start, f);
+        }
+
+        static int format(long ts, final FormatTemplate f, char[] to, int ofs) {
+            Context ctx = tls.get();
+            int start = formatChars(ts, f, ctx, ctx.buffer);
+            int n = BUFFER_LENGTH - start;
+            System.arraycopy(ctx.buffer, start, to, ofs, n);
+            return ofs + n;
+        }
+
+        static StringBuilder format(long ts, final FormatTemplate f, StringBuilder sb) {
+            Context ctx = tls.get();
+            int start = formatChars(ts, f, ctx, ctx.buffer);
+            return sb.append(ctx.buffer, start, BUFFER_LENGTH - start);
+        }
+
+        static int format(long ts, final FormatTemplate f, byte[] to, int ofs) {
+            Context ctx = tls.get();
+            return copyBytes(ctx, formatBytes(ts, f, ctx), to, ofs);
+        }
+
+        static ByteBuffer format(long ts, final FormatTemplate f, ByteBuffer to) {
+            Context ctx = tls.get();
+            return copyBytes(ctx, formatBytes(ts, f, ctx), to);
+        }
+
+        // region Batch formatting
+
+        // Values are separated by the delimiter, the terminator is written after the last value
+
+        static int format(long[] src, int srcOfs, int length, final FormatTemplate f,
+                          String delimiter, String terminator, char[] to, int ofs) {
+            Context ctx = tls.get();
+            for (int i = 0; i < length; ++i) {
+                if (0 != i)
+                    ofs = copy(delimiter, to, ofs);
+
+                ofs = copyChars(ctx, formatChars(src[srcOfs + i], f, ctx, ctx.buffer), to, ofs);
+            }
+
+            return copy(terminator, to, ofs);
+        }
+
+        static int format(long[] src, int srcOfs, int length, final FormatTemplate f,
+                          String delimiter, String terminator, byte[] to, int ofs) {
+            Context ctx = tls.get();
+            for (int i = 0; i < length; ++i) {
+                if (0 != i)
+                    ofs = copy(delimiter, to, ofs);
+
+                ofs = copyBytes(ctx, formatBytes(src[srcOfs + i], f, ctx), to, ofs);
+            }
+
+            return copy(terminator, to, ofs);
+        }
+
+        static StringBuilder format(long[] src, int srcOfs, int length, final FormatTemplate f,
+                                    String delimiter, String terminator, StringBuilder sb) {
             Context ctx = tls.get();
             char[] buffer = ctx.buffer;
-            int start = formatChars(ts, fmt, ctx, buffer);
-            return new String(ctx.buffer, start, BUFFER_LENGTH - start);
+            for (int i = 0; i < length; ++i) {
+                if (0 != i)
+                    sb.append(delimiter);
+
+                int start = formatChars(src[srcOfs + i], f, ctx, buffer);
+                sb.append(buffer, start, BUFFER_LENGTH - start);
+            }
+
+            return sb.append(terminator);
+        }
+
+        // endregion Batch formatting
+
+        static Appendable format(long ts, final FormatTemplate f, Appendable appendable) throws IOException {
+            Context ctx = tls.get();
+            int start = formatChars(ts, f, ctx, ctx.buffer);
+            return appendable.append(ctx.bufferWrapper, start, BUFFER_LENGTH);
+        }
+
+        static String format(long ts, final String fmt) {
+            Context ctx = tls.get();
+            FormatTemplate f = ctx.getTsTemplate(fmt);
+            int start = f.latin1 ? formatBytes(ts, f, ctx) : formatChars(ts, f, ctx, ctx.buffer);
+            return newString(ctx, start, f);
         }
 
         public static Appendable format(long ts, String fmt, Appendable appendable) throws IOException {
             Context ctx = tls.get();
-            char[] buffer = ctx.buffer;
-            int start = formatChars(ts, fmt, ctx, buffer);
-            // TODO: Later: compare performance, also vs different charbuffer impl
-            //return appendable.append(new String(ctx.buffer, start, BUFFER_LENGTH));
-            return appendable.append(ctx.bufferWrapper,   start, BUFFER_LENGTH);
+            int start = formatChars(ts, ctx.getTsTemplate(fmt), ctx, ctx.buffer);
+            return appendable.append(ctx.bufferWrapper, start, BUFFER_LENGTH);
         }
     }
 }
\ No newline at end of file
@@ -182,6 +182,18 @@ public class HdDateTime implements Comparable<HdDateTime> {
         return HdDateTimeUtils.getWeekOfMonth(value);
     }
 
+    public int getIsoWeekOfYear() {
+        return HdDateTimeUtils.getIsoWeekOfYear(value);
+    }
+
+    public int getIsoWeekBasedYear() {
+        return HdDateTimeUtils.getIsoWeekBasedYear(value);
+    }
+
+    public int getIsoWeekOfMonth() {
+        return HdDateTimeUtils.getIsoWeekOfMonth(value);
+    }
+
     public int getDayOfYear() {
         return HdDateTimeUtils.getDayOfYear(value);
     }
@@ -264,6 +276,10 @@ public class HdDateTime implements Comparable<HdDateTime> {
         return new HdDateTime(HdDateTimeUtils.setWeekOfMonth(value, week));
     }
 
+    public HdDateTime setIsoWeekOfYear(int week) {
+        return new HdDateTime(HdDateTimeUtils.setIsoWeekOfYear(value, week));
+    }
+
     public HdDateTime setMonth(Month month) {
         return new HdDateTime(HdDateTimeUtils.setMonth(value, month));
     }
@@ -379,6 +395,14 @@ public class HdDateTime implements Comparable<HdDateTime> {
         return new HdDateTime(HdDateTimeUtils.roundTo(value, resolution));
     }
 
+    /**
+     * Round down to the start (Monday 00:00) of ISO-8601 week
+     * @return new instance of HdDateTime
+     */
+    public HdDateTime roundToIsoWeek() {
+        return new HdDateTime(HdDateTimeUtils.roundToIsoWeek(value));
+    }
+
     public HdDateTime add(HdTimeSpan timeSpan) {
         return new HdDateTime(HdDateTimeUtils.add(value, timeSpan.value));
     }
@@ -390,11 +414,12 @@ public class HdDateTime implements Comparable<HdDateTime> {
     }
 
     public HdDateTime addYears(int years) {
-        return new HdDateTime(HdDateTimeUtils.addYears(value, years));
+        // Immutable, no need to allocate if nothing changes
+        return 0 == years ? this : new HdDateTime(HdDateTimeUtils.addYears(value, years));
     }
 
     public HdDateTime addMonths(int months) {
-        return new HdDateTime(HdDateTimeUtils.addMonths(value, months));
+        return 0 == months ? this : new HdDateTime(HdDateTimeUtils.addMonths(value, months));
     }
 
     public HdDateTime addDays(long days) {
@@ -516,6 +541,14 @@ public class HdDateTime implements Comparable<HdDateTime> {
         return HdDateTimeUtils.appendTo(value, appendable, format);
     }
 
+    public StringBuilder appendTo(final StringBuilder sb) {
+        return HdDateTimeUtils.appendTo(value, sb);
+    }
+
+    public StringBuilder appendTo(final StringBuilder sb, String format) {
+        return HdDateTimeUtils.appendTo(value, sb, format);
+    }
+
     public static HdDateTime parse(final CharSequence text) throws ParseException {
         return new HdDateTime(HdDateTimeUtils.parse(text));
     }
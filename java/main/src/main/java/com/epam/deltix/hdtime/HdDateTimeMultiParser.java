@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import java.text.ParsePosition;
+import java.util.Arrays;
+
+/**
+ * Precompiled parser for HdDateTime values in one of several formats, such as
+ * "yyyy-MM-dd HH:mm:ss.fff", "yyyy-MM-dd HH:mm:ss" and "yyyyMMdd-HH:mm:ss.fff".
+ * <p>
+ * Formats are merged into a single decision tree when the instance is created: the common prefix of the formats
+ * is parsed once and the input is not rescanned for every candidate. The longest match wins (e.g. the format
+ * with fractions, when the input has them), then the first of the matching formats.
+ * The index of the matched format is available from {@link #getMatchedFormat(ParseState)}.
+ * Instances are immutable and can be shared between threads, see {@link HdDateTimeParser} for the use of ParseState.
+ */
+public final class HdDateTimeMultiParser {
+    private final String[] formats;
+    private final MultiParseTemplate template;
+
+    private HdDateTimeMultiParser(String[] formats, MultiParseTemplate template) {
+        this.formats = formats;
+        this.template = template;
+    }
+
+    public static HdDateTimeMultiParser of(String... formats) {
+        if (0 == formats.length)
+            throw new IllegalArgumentException("At least one format is required");
+
+        formats = formats.clone();
+        Parsers.ParseTemplate[] templates = new Parsers.ParseTemplate[formats.length];
+        for (int i = 0; i < formats.length; ++i)
+            templates[i] = Parsers.DateTime.getTemplate(formats[i]);
+
+        return new HdDateTimeMultiParser(formats, new MultiParseTemplate(templates));
+    }
+
+    public int getFormatCount() {
+        return formats.length;
+    }
+
+    public String getFormat(int index) {
+        return formats[index];
+    }
+
+    private static ParseState state(ParseState state) {
+        return null != state ? state : Parsers.state();
+    }
+
+    /**
+     * Returns the index of the format matched by the last parse made with this state, or -1 if it failed.
+     * A null state refers to the thread-local state of the calling thread.
+     */
+    public int getMatchedFormat(ParseState state) {
+        return state(state).matchedFormat;
+    }
+
+    /**
+     * Parses the whole text, trailing characters that none of the formats match are an error.
+     */
+    public long parse(CharSequence text, ParseState state) throws ParseException {
+        ParseState s = state(state);
+        ParsedDateTimeValue value = s.dtValue;
+        long result = template.matchAll(text, 0, value);
+        s.matchedFormat = (int)result;
+        if (result < 0)
+            throw new ParseException(text.toString(), value.errorOffset);
+
+        return value.get();
+    }
+
+    // tryParse methods return NULL_VALUE when no format matches instead of throwing ParseException, and don't allocate
+
+    /**
+     * Same as {@link HdDateTimeUtils#tryParse(CharSequence, String, ParsePosition)}. The longest prefix of the text
+     * that matches a format is parsed, and the index of pos is set to its end. If pos is null, the whole text must
+     * match. The error index is the furthest offset reached by any of the formats.
+     */
+    public long tryParse(CharSequence text, ParsePosition pos, ParseState state) {
+        ParseState s = state(state);
+        return tryParse(s, text, null != pos ? pos.getIndex() : 0, pos);
+    }
+
+    /**
+     * Parses Latin-1 text from {@code src[offset, offset + length)}, that must match one of the formats entirely.
+     */
+    public long tryParse(byte[] src, int offset, int length, ParseState state) {
+        ParseState s = state(state);
+        ByteSequence bytes = s.bytes.set(src, offset, length);
+        try {
+            return tryParse(s, bytes, 0, null);
+        } finally {
+            bytes.clear();
+        }
+    }
+
+    private long tryParse(ParseState s, CharSequence text, int ofs, ParsePosition pos) {
+        ParsedDateTimeValue value = s.dtValue;
+        // Without a position to report the end, a prefix match would silently drop the rest of the text
+        long result = null != pos ? template.match(text, ofs, value) : template.matchAll(text, ofs, value);
+        s.matchedFormat = (int)result;
+        return Parsers.quietResult(result < 0 ? -1 : (int)(result >>> 32), value, pos);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(formats);
+    }
+}
\ No newline at end of file
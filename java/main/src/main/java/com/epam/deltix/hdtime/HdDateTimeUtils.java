@@ -17,10 +17,10 @@
 package com.epam.deltix.hdtime;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
 import java.time.DayOfWeek;
 import java.time.Month;
-import java.util.Calendar;
-import java.util.GregorianCalendar;
 
 /**
  * Static methods to work with date and time in nanoseconds resolution.
@@ -138,6 +138,36 @@ public class HdDateTimeUtils {
         return Convert.DateTime.extractWeekOfMonth(value);
     }
 
+    /**
+     * ISO-8601 week of week-based year [1..53], independent of the default locale.
+     * Weeks start on Monday, week 1 contains the first Thursday of the year.
+     * @param value HdDateTime
+     * @return week number
+     */
+    public static int getIsoWeekOfYear(long value) {
+        return Convert.DateTime.extractIsoWeekOfYear(value);
+    }
+
+    /**
+     * ISO-8601 week-based year, the year the week returned by {@link #getIsoWeekOfYear(long)} belongs to.
+     * Differs from the calendar year for a few days around January 1st.
+     * @param value HdDateTime
+     * @return week-based year
+     */
+    public static int getIsoWeekBasedYear(long value) {
+        return Convert.DateTime.extractIsoWeekBasedYear(value);
+    }
+
+    /**
+     * Week of month [0..5] with ISO-8601 rules: weeks start on Monday, week 1 is the first week having
+     * at least 4 days of the month, preceding days belong to week 0
+     * @param value HdDateTime
+     * @return week number
+     */
+    public static int getIsoWeekOfMonth(long value) {
+        return Convert.DateTime.extractIsoWeekOfMonth(value);
+    }
+
     public static int getDayOfYear(long value) {
         return Convert.DateTime.extractDayOfYear(value);
     }
@@ -174,6 +204,38 @@ public class HdDateTimeUtils {
         return Convert.DateTime.extractNanosecondOfSecond(value);
     }
 
+    /**
+     * Get all components in a single call
+     * @param value HdDateTime
+     * @param to receives year, month [1..12], day of month, hour, minute, second and nanosecond, in this order
+     * @param ofs index of the element of {@code to} receiving year
+     */
+    public static void toComponents(long value, int[] to, int ofs) {
+        Convert.DateTime.toComponents(value, to, ofs);
+    }
+
+    /**
+     * Get components of {@code length} values, starting with {@code src[srcOfs]}, into separate columns.
+     * Columns that are not needed may be null. Date components are only recomputed when the day changes,
+     * so sorted timestamps are processed faster.
+     * @param src source HdDateTime values
+     * @param srcOfs index of the first source value
+     * @param length number of values
+     * @param years receives years, may be null
+     * @param months receives months [1..12], may be null
+     * @param days receives days of month, may be null
+     * @param hours receives hours, may be null
+     * @param minutes receives minutes, may be null
+     * @param seconds receives seconds, may be null
+     * @param nanoseconds receives nanoseconds of second, may be null
+     * @param dstOfs index of the first element written into each column
+     */
+    public static void toComponents(long[] src, int srcOfs, int length,
+                                    int[] years, int[] months, int[] days, int[] hours, int[] minutes, int[] seconds,
+                                    int[] nanoseconds, int dstOfs) {
+        Convert.DateTime.toComponents(src, srcOfs, length, years, months, days, hours, minutes, seconds, nanoseconds, dstOfs);
+    }
+
     // endregion Component Getters
 
     /////////////////////////////////////////////////////////////////////////////////////
@@ -204,6 +266,16 @@ public class HdDateTimeUtils {
         return Convert.DateTime.setWeekOfMonth(value, week);
     }
 
+    /**
+     * Set ISO-8601 week of week-based year, keeping week-based year, day of week and time of day
+     * @param value HdDateTime
+     * @param week week number, must be within [1..52] or [1..53], depending on the week-based year
+     * @return new HdDateTime value
+     */
+    public static long setIsoWeekOfYear(long value, int week) {
+        return Convert.DateTime.setIsoWeekOfYear(value, week);
+    }
+
     public static long setDayOfYear(long value, int day) {
         return Convert.DateTime.setDayOfYear(value, day);
     }
@@ -325,6 +397,15 @@ public class HdDateTimeUtils {
         throw new IllegalArgumentException("Unsupported resolution: " + resolution);
     }
 
+    /**
+     * Round down to the start (Monday 00:00) of ISO-8601 week, independent of the default locale
+     * @param value HdDateTime
+     * @return new HdDateTime value
+     */
+    public static long roundToIsoWeek(long value) {
+        return Convert.DateTime.roundToIsoWeek(value);
+    }
+
     public static long add(long dateTime, long timeSpan) {
         return Util.addToDt(dateTime, timeSpan);
     }
@@ -346,11 +427,11 @@ public class HdDateTimeUtils {
     }
 
     public static long addYears(long value, int years) {
-        return Convert.DateTime.addCalendarComponent(value, Calendar.YEAR, years);
+        return Convert.DateTime.addYears(value, years);
     }
 
     public static long addMonths(long value, int months) {
-        return Convert.DateTime.addCalendarComponent(value, Calendar.MONTH, months);
+        return Convert.DateTime.addMonths(value, months);
     }
 
     public static long addDays(long value, long days) {
@@ -388,22 +469,39 @@ public class HdDateTimeUtils {
     /////////////////////////////////////////////////////////////////////////////////////
 
     public static int getDaysInMonth(long value) {
-        return Convert.DateTime.calendarFromNanos(Convert.DateTime.checkNanos(value)).getActualMaximum(Calendar.MONTH);
+        int civil = Convert.DateTime.extractCivil(Convert.DateTime.checkNanos(value));
+        return Convert.DateTime.daysInMonth(Convert.DateTime.civilYear(civil), Convert.DateTime.civilMonth(civil));
     }
 
     public static int getDaysInYear(long value) {
-        return Convert.DateTime.calendarFromNanos(Convert.DateTime.checkNanos(value)).getActualMaximum(Calendar.YEAR);
+        return isLeapYear(value) ? 366 : 365;
     }
 
     public static boolean isLeapYear(long value) {
-        GregorianCalendar calendar = Convert.DateTime.calendarFromNanos(Convert.DateTime.checkNanos(value));
-        return isLeapYear(calendar.get(Calendar.YEAR));
+        return isLeapYear(Convert.DateTime.extractYear(Convert.DateTime.checkNanos(value)));
     }
 
     public static boolean isLeapYear(int year) {
         return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
     }
 
+    // Bulk versions, process length values starting from src[srcOffset] into dst[dstOffset..]
+
+    public static void getDaysInMonth(long[] src, int srcOffset, int[] dst, int dstOffset, int length) {
+        for (int i = 0; i < length; ++i)
+            dst[dstOffset + i] = getDaysInMonth(src[srcOffset + i]);
+    }
+
+    public static void getDaysInYear(long[] src, int srcOffset, int[] dst, int dstOffset, int length) {
+        for (int i = 0; i < length; ++i)
+            dst[dstOffset + i] = getDaysInYear(src[srcOffset + i]);
+    }
+
+    public static void isLeapYear(long[] src, int srcOffset, boolean[] dst, int dstOffset, int length) {
+        for (int i = 0; i < length; ++i)
+            dst[dstOffset + i] = isLeapYear(src[srcOffset + i]);
+    }
+
     // endregion Helpers
 
     /////////////////////////////////////////////////////////////////////////////////////
@@ -445,6 +543,38 @@ public class HdDateTimeUtils {
         return Formatters.DateTime.format(value, format, appendable);
     }
 
+    public static StringBuilder appendTo(long value, StringBuilder sb) {
+        return appendTo(value, sb, DEFAULT_FORMAT);
+    }
+
+    public static StringBuilder appendTo(long value, StringBuilder sb, String format) {
+        return Formatters.DateTime.format(value, Formatters.DateTime.getTemplate(format), sb);
+    }
+
+    public static int appendTo(long value, char[] to, int offset) {
+        return appendTo(value, to, offset, DEFAULT_FORMAT);
+    }
+
+    public static int appendTo(long value, char[] to, int offset, String format) {
+        return Formatters.DateTime.format(value, Formatters.DateTime.getTemplate(format), to, offset);
+    }
+
+    public static int appendTo(long value, byte[] to, int offset) {
+        return appendTo(value, to, offset, DEFAULT_FORMAT);
+    }
+
+    public static int appendTo(long value, byte[] to, int offset, String format) {
+        return Formatters.DateTime.format(value, Formatters.DateTime.getTemplate(format), to, offset);
+    }
+
+    public static ByteBuffer appendTo(long value, ByteBuffer to) {
+        return appendTo(value, to, DEFAULT_FORMAT);
+    }
+
+    public static ByteBuffer appendTo(long value, ByteBuffer to, String format) {
+        return Formatters.DateTime.format(value, Formatters.DateTime.getTemplate(format), to);
+    }
+
     public static long parse(CharSequence text) throws ParseException {
         return Parsers.DateTime.parse(text, DEFAULT_FORMAT);
     }
@@ -453,6 +583,117 @@ public class HdDateTimeUtils {
         return Parsers.DateTime.parse(text, fmt);
     }
 
+    // tryParse methods return NULL_VALUE on malformed input instead of throwing ParseException, and don't allocate
+
+    public static long tryParse(CharSequence text) {
+        return Parsers.DateTime.tryParse(text, DEFAULT_FORMAT, null);
+    }
+
+    public static long tryParse(CharSequence text, String fmt) {
+        return Parsers.DateTime.tryParse(text, fmt, null);
+    }
+
+    /**
+     * Parses the text starting at the index of {@code pos}, returns NULL_VALUE on malformed input.
+     * On success, the index of {@code pos} is set to the end of the parsed text and the error index is reset to -1,
+     * otherwise the index is unchanged and the error index is set to the offset of the error.
+     */
+    public static long tryParse(CharSequence text, String fmt, ParsePosition pos) {
+        return Parsers.DateTime.tryParse(text, fmt, pos);
+    }
+
+    public static long tryParse(byte[] src, int offset, int length, String fmt) {
+        return Parsers.DateTime.tryParse(src, offset, length, fmt);
+    }
+
+    /**
+     * Parses a column of values, separated by {@code delimiter} (e.g. '\n'), from {@code src[offset, offset + length)}
+     * into {@code to}, starting at {@code toOffset}. Stops when the input ends, {@code to} is full or a value is malformed.
+     * Empty values are stored as NULL_VALUE, a delimiter at the very end of the input doesn't start a new value.
+     * If {@code pos} is not null, its index is set to the start of the first value that was not stored, and its error
+     * index to the offset of the first error, or -1. Errors don't throw and don't allocate.
+     * @return the number of values stored
+     */
+    public static int parseColumn(CharSequence src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+        return Parsers.DateTime.parseDelimited(src, offset, length, delimiter, fmt, to, toOffset, pos);
+    }
+
+    public static int parseColumn(char[] src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+        return Parsers.DateTime.parseDelimited(src, offset, length, delimiter, fmt, to, toOffset, pos);
+    }
+
+    /**
+     * Same as {@link #parseColumn(CharSequence, int, int, char, String, long[], int, ParsePosition)}, for Latin-1 text
+     */
+    public static int parseColumn(byte[] src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+        return Parsers.DateTime.parseDelimited(src, offset, length, delimiter, fmt, to, toOffset, pos);
+    }
+
+    // Latin-1 text in byte[], ByteBuffer or off-heap memory is parsed in place, without allocation
+
+    public static long parse(byte[] src, int offset, int length) throws ParseException {
+        return Parsers.DateTime.parse(src, offset, length, DEFAULT_FORMAT, null);
+    }
+
+    public static long parse(byte[] src, int offset, int length, String fmt) throws ParseException {
+        return Parsers.DateTime.parse(src, offset, length, fmt, null);
+    }
+
+    /**
+     * Parses the text in {@code src[offset, offset + length)}.
+     * On success, the index of {@code end} is set to the offset of the first byte after the parsed text.
+     */
+    public static long parse(byte[] src, int offset, int length, String fmt, ParsePosition end) throws ParseException {
+        return Parsers.DateTime.parse(src, offset, length, fmt, end);
+    }
+
+    public static long parse(ByteBuffer src) throws ParseException {
+        return Parsers.DateTime.parse(src, DEFAULT_FORMAT);
+    }
+
+    /**
+     * Parses the text between the position and the limit of {@code src}.
+     * On success, the position is advanced past the parsed text.
+     */
+    public static long parse(ByteBuffer src, String fmt) throws ParseException {
+        return Parsers.DateTime.parse(src, fmt);
+    }
+
+    public static long parseOffHeap(long address, int length) throws ParseException {
+        return Parsers.DateTime.parse(address, length, DEFAULT_FORMAT, null);
+    }
+
+    public static long parseOffHeap(long address, int length, String fmt) throws ParseException {
+        return Parsers.DateTime.parse(address, length, fmt, null);
+    }
+
+    /**
+     * Parses the text in off-heap memory range {@code [address, address + length)}.
+     * On success, the index of {@code end} is set to the number of bytes parsed.
+     */
+    public static long parseOffHeap(long address, int length, String fmt, ParsePosition end) throws ParseException {
+        return Parsers.DateTime.parse(address, length, fmt, end);
+    }
+
+    /**
+     * @return counters of the global cache of format templates, shared by all the {@link #toString(long, String)}
+     * and appendTo calls with a format string for HdDateTime values
+     */
+    public static TemplateCacheStats getFormatTemplateCacheStats() {
+        return Formatters.Context.globalDtTemplateCache.stats();
+    }
+
+    /**
+     * @return counters of the global cache of parse templates, shared by all the parse and tryParse calls
+     * with a format string for HdDateTime values
+     */
+    public static TemplateCacheStats getParseTemplateCacheStats() {
+        return Parsers.Context.globalDtTemplateCache.stats();
+    }
+
     // endregion Parsing and formatting
 
     /////////////////////////////////////////////////////////////////////////////////////
@@ -569,6 +810,18 @@ public class HdDateTimeUtils {
         return getWeekOfMonth(checkNull(value));
     }
 
+    public static int getIsoWeekOfYearChecked(long value) {
+        return getIsoWeekOfYear(checkNull(value));
+    }
+
+    public static int getIsoWeekBasedYearChecked(long value) {
+        return getIsoWeekBasedYear(checkNull(value));
+    }
+
+    public static int getIsoWeekOfMonthChecked(long value) {
+        return getIsoWeekOfMonth(checkNull(value));
+    }
+
     public static int getDayOfYearChecked(long value) {
         return getDayOfYear(checkNull(value));
     }
@@ -635,6 +888,10 @@ public class HdDateTimeUtils {
         return setWeekOfMonth(value, week);
     }
 
+    public static long setIsoWeekOfYearChecked(long value, int week) {
+        return setIsoWeekOfYear(checkNull(value), week);
+    }
+
     public static long setDayOfYearChecked(long value, int day) {
         return setDayOfYear(value, day);
     }
@@ -692,6 +949,10 @@ public class HdDateTimeUtils {
         return roundTo(checkNull(value), resolution);
     }
 
+    public static long roundToIsoWeekChecked(long value) {
+        return roundToIsoWeek(checkNull(value));
+    }
+
     public static long addChecked(long dateTime, long timeSpan) {
         return add(checkNull(dateTime), checkNull(timeSpan));
     }
@@ -798,6 +1059,14 @@ public class HdDateTimeUtils {
         return appendTo(checkNull(value), appendable, format);
     }
 
+    public static StringBuilder appendToChecked(long value, StringBuilder sb) {
+        return appendTo(checkNull(value), sb);
+    }
+
+    public static StringBuilder appendToChecked(long value, StringBuilder sb, String format) {
+        return appendTo(checkNull(value), sb, format);
+    }
+
 
 
     // endregion Parsing and formatting
@@ -548,6 +548,14 @@ public class HdTimeSpan implements Comparable<HdTimeSpan> {
         return HdTimeSpanUtils.appendTo(value, appendable, format);
     }
 
+    public StringBuilder appendTo(final StringBuilder sb) {
+        return HdTimeSpanUtils.appendTo(value, sb);
+    }
+
+    public StringBuilder appendTo(final StringBuilder sb, final String format) {
+        return HdTimeSpanUtils.appendTo(value, sb, format);
+    }
+
     public static HdTimeSpan parse(final CharSequence text) throws ParseException {
         return new HdTimeSpan(HdTimeSpanUtils.parse(text));
     }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Precompiled formatter for HdTimeSpan (nanoseconds) values.
+ * <p>
+ * Format string is parsed once, when the instance is created, and no lookup by format string
+ * is performed when formatting. Instances are immutable and can be shared between threads.
+ * Uses the same format syntax as {@link HdTimeSpanUtils#toString(long, String)}.
+ */
+public final class HdTimeSpanFormatter {
+    public static final HdTimeSpanFormatter DEFAULT = of(HdTimeSpanUtils.DEFAULT_FORMAT);
+
+    private final String format;
+    private final Formatters.FormatTemplate template;
+
+    private HdTimeSpanFormatter(String format, Formatters.FormatTemplate template) {
+        this.format = format;
+        this.template = template;
+    }
+
+    public static HdTimeSpanFormatter of(String format) {
+        return new HdTimeSpanFormatter(format, Formatters.TimeSpan.getTemplate(format));
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public String format(long value) {
+        return Formatters.TimeSpan.format(value, template);
+    }
+
+    public Appendable format(long value, Appendable appendable) throws IOException {
+        return Formatters.TimeSpan.format(value, template, appendable);
+    }
+
+    public StringBuilder format(long value, StringBuilder sb) {
+        return Formatters.TimeSpan.format(value, template, sb);
+    }
+
+    /**
+     * Writes formatted value into a char array.
+     *
+     * @param value value to format
+     * @param to destination array
+     * @param offset write offset
+     * @return offset after the last written char
+     */
+    public int format(long value, char[] to, int offset) {
+        return Formatters.TimeSpan.format(value, template, to, offset);
+    }
+
+    /**
+     * Writes formatted value as Latin-1 (ASCII for numeric fields) bytes.
+     *
+     * @param value value to format
+     * @param to destination array
+     * @param offset write offset
+     * @return offset after the last written byte
+     */
+    public int format(long value, byte[] to, int offset) {
+        return Formatters.TimeSpan.format(value, template, to, offset);
+    }
+
+    /**
+     * Writes formatted value as Latin-1 (ASCII for numeric fields) bytes at the current position
+     * of heap or direct buffer, and advances the position.
+     *
+     * @param value value to format
+     * @param to destination buffer
+     * @return destination buffer
+     */
+    public ByteBuffer format(long value, ByteBuffer to) {
+        return Formatters.TimeSpan.format(value, template, to);
+    }
+
+    // region Batch formatting
+
+    /**
+     * Formats {@code length} values starting from {@code values[offset]}, separated by the delimiter,
+     * and writes the terminator after the last value (e.g. "," and "\r\n" for a CSV row, or "\n" and "\n" for a column).
+     * The template is resolved once for the whole batch.
+     *
+     * @param values values to format
+     * @param offset index of the first value
+     * @param length number of values
+     * @param delimiter string written between values
+     * @param terminator string written after the last value
+     * @param to destination array, should be big enough to hold the result
+     * @param toOffset write offset
+     * @return offset after the last written char
+     */
+    public int format(long[] values, int offset, int length, String delimiter, String terminator, char[] to, int toOffset) {
+        return Formatters.TimeSpan.format(values, offset, length, template, delimiter, terminator, to, toOffset);
+    }
+
+    /**
+     * Same as {@link #format(long[], int, int, String, String, char[], int)}, but writes Latin-1 bytes.
+     *
+     * @param values values to format
+     * @param offset index of the first value
+     * @param length number of values
+     * @param delimiter string written between values
+     * @param terminator string written after the last value
+     * @param to destination array, should be big enough to hold the result
+     * @param toOffset write offset
+     * @return offset after the last written byte
+     */
+    public int format(long[] values, int offset, int length, String delimiter, String terminator, byte[] to, int toOffset) {
+        return Formatters.TimeSpan.format(values, offset, length, template, delimiter, terminator, to, toOffset);
+    }
+
+    /**
+     * Same as {@link #format(long[], int, int, String, String, char[], int)}, but appends to a StringBuilder.
+     *
+     * @param values values to format
+     * @param offset index of the first value
+     * @param length number of values
+     * @param delimiter string written between values
+     * @param terminator string written after the last value
+     * @param sb destination
+     * @return destination
+     */
+    public StringBuilder format(long[] values, int offset, int length, String delimiter, String terminator, StringBuilder sb) {
+        return Formatters.TimeSpan.format(values, offset, length, template, delimiter, terminator, sb);
+    }
+
+    // endregion Batch formatting
+
+    @Override
+    public String toString() {
+        return format;
+    }
+}
\ No newline at end of file
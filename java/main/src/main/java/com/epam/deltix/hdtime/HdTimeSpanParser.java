@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import java.text.ParsePosition;
+
+/**
+ * Precompiled parser for HdTimeSpan (nanoseconds) values.
+ * <p>
+ * Format string is parsed once, when the instance is created, and no lookup by format string
+ * is performed when parsing. Instances are immutable and can be shared between threads.
+ * Mutable scratch data lives in {@link ParseState}: methods that take a state use it instead of the thread-local one,
+ * a null state falls back to the thread-local state of the calling thread.
+ * Uses the same format syntax as {@link HdTimeSpanUtils#parse(CharSequence, String)}.
+ */
+public final class HdTimeSpanParser {
+    public static final HdTimeSpanParser DEFAULT = of(HdTimeSpanUtils.DEFAULT_FORMAT);
+
+    private final String format;
+    private final Parsers.ParseTemplate template;
+
+    private HdTimeSpanParser(String format, Parsers.ParseTemplate template) {
+        this.format = format;
+        this.template = template;
+    }
+
+    public static HdTimeSpanParser of(String format) {
+        return new HdTimeSpanParser(format, Parsers.TimeSpan.getTemplate(format));
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    private static ParseState state(ParseState state) {
+        return null != state ? state : Parsers.state();
+    }
+
+    public long parse(CharSequence text) throws ParseException {
+        return Parsers.TimeSpan.parse(text, template, Parsers.state());
+    }
+
+    public long parse(CharSequence text, ParseState state) throws ParseException {
+        return Parsers.TimeSpan.parse(text, template, state(state));
+    }
+
+    /**
+     * Parses Latin-1 text from {@code src[offset, offset + length)}.
+     * If {@code end} is not null, its index is set to the offset after the parsed text.
+     */
+    public long parse(byte[] src, int offset, int length, ParsePosition end, ParseState state) throws ParseException {
+        return Parsers.TimeSpan.parse(src, offset, length, end, template, state(state));
+    }
+
+    // tryParse methods return NULL_VALUE on malformed input instead of throwing ParseException, and don't allocate
+
+    public long tryParse(CharSequence text) {
+        return Parsers.TimeSpan.tryParse(text, null, template, Parsers.state());
+    }
+
+    /**
+     * Same as {@link HdTimeSpanUtils#tryParse(CharSequence, String, ParsePosition)}, pos can be null.
+     */
+    public long tryParse(CharSequence text, ParsePosition pos, ParseState state) {
+        return Parsers.TimeSpan.tryParse(text, pos, template, state(state));
+    }
+
+    public long tryParse(byte[] src, int offset, int length, ParseState state) {
+        return Parsers.TimeSpan.tryParse(src, offset, length, template, state(state));
+    }
+
+    // region Column parsing, see HdTimeSpanUtils.parseColumn
+
+    public int parseColumn(CharSequence src, int offset, int length, char delimiter,
+                           long[] to, int toOffset, ParsePosition pos, ParseState state) {
+        return Parsers.TimeSpan.parseDelimited(src, offset, length, delimiter, to, toOffset, pos, template, state(state));
+    }
+
+    public int parseColumn(char[] src, int offset, int length, char delimiter,
+                           long[] to, int toOffset, ParsePosition pos, ParseState state) {
+        return Parsers.TimeSpan.parseDelimited(src, offset, length, delimiter, to, toOffset, pos, template, state(state));
+    }
+
+    public int parseColumn(byte[] src, int offset, int length, char delimiter,
+                           long[] to, int toOffset, ParsePosition pos, ParseState state) {
+        return Parsers.TimeSpan.parseDelimited(src, offset, length, delimiter, to, toOffset, pos, template, state(state));
+    }
+
+    // endregion Column parsing
+
+    @Override
+    public String toString() {
+        return format;
+    }
+}
\ No newline at end of file
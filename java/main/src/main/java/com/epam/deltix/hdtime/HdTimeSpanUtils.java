@@ -17,6 +17,8 @@
 package com.epam.deltix.hdtime;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
 
 /**
  * Static methods to work with time span in nanoseconds resolution.
@@ -433,6 +435,38 @@ public class HdTimeSpanUtils {
         return Formatters.TimeSpan.format(value, format, appendable);
     }
 
+    public static StringBuilder appendTo(long value, StringBuilder sb) {
+        return appendTo(value, sb, DEFAULT_FORMAT);
+    }
+
+    public static StringBuilder appendTo(long value, StringBuilder sb, final String format) {
+        return Formatters.TimeSpan.format(value, Formatters.TimeSpan.getTemplate(format), sb);
+    }
+
+    public static int appendTo(long value, char[] to, int offset) {
+        return appendTo(value, to, offset, DEFAULT_FORMAT);
+    }
+
+    public static int appendTo(long value, char[] to, int offset, final String format) {
+        return Formatters.TimeSpan.format(value, Formatters.TimeSpan.getTemplate(format), to, offset);
+    }
+
+    public static int appendTo(long value, byte[] to, int offset) {
+        return appendTo(value, to, offset, DEFAULT_FORMAT);
+    }
+
+    public static int appendTo(long value, byte[] to, int offset, final String format) {
+        return Formatters.TimeSpan.format(value, Formatters.TimeSpan.getTemplate(format), to, offset);
+    }
+
+    public static ByteBuffer appendTo(long value, ByteBuffer to) {
+        return appendTo(value, to, DEFAULT_FORMAT);
+    }
+
+    public static ByteBuffer appendTo(long value, ByteBuffer to, final String format) {
+        return Formatters.TimeSpan.format(value, Formatters.TimeSpan.getTemplate(format), to);
+    }
+
     public static long parse(CharSequence text) throws ParseException {
         return Parsers.TimeSpan.parse(text, DEFAULT_FORMAT);
     }
@@ -441,6 +475,117 @@ public class HdTimeSpanUtils {
         return Parsers.TimeSpan.parse(text, fmt);
     }
 
+    // tryParse methods return NULL_VALUE on malformed input instead of throwing ParseException, and don't allocate
+
+    public static long tryParse(CharSequence text) {
+        return Parsers.TimeSpan.tryParse(text, DEFAULT_FORMAT, null);
+    }
+
+    public static long tryParse(CharSequence text, String fmt) {
+        return Parsers.TimeSpan.tryParse(text, fmt, null);
+    }
+
+    /**
+     * Parses the text starting at the index of {@code pos}, returns NULL_VALUE on malformed input.
+     * On success, the index of {@code pos} is set to the end of the parsed text and the error index is reset to -1,
+     * otherwise the index is unchanged and the error index is set to the offset of the error.
+     */
+    public static long tryParse(CharSequence text, String fmt, ParsePosition pos) {
+        return Parsers.TimeSpan.tryParse(text, fmt, pos);
+    }
+
+    public static long tryParse(byte[] src, int offset, int length, String fmt) {
+        return Parsers.TimeSpan.tryParse(src, offset, length, fmt);
+    }
+
+    /**
+     * Parses a column of values, separated by {@code delimiter} (e.g. '\n'), from {@code src[offset, offset + length)}
+     * into {@code to}, starting at {@code toOffset}. Stops when the input ends, {@code to} is full or a value is malformed.
+     * Empty values are stored as NULL_VALUE, a delimiter at the very end of the input doesn't start a new value.
+     * If {@code pos} is not null, its index is set to the start of the first value that was not stored, and its error
+     * index to the offset of the first error, or -1. Errors don't throw and don't allocate.
+     * @return the number of values stored
+     */
+    public static int parseColumn(CharSequence src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+        return Parsers.TimeSpan.parseDelimited(src, offset, length, delimiter, fmt, to, toOffset, pos);
+    }
+
+    public static int parseColumn(char[] src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+        return Parsers.TimeSpan.parseDelimited(src, offset, length, delimiter, fmt, to, toOffset, pos);
+    }
+
+    /**
+     * Same as {@link #parseColumn(CharSequence, int, int, char, String, long[], int, ParsePosition)}, for Latin-1 text
+     */
+    public static int parseColumn(byte[] src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+        return Parsers.TimeSpan.parseDelimited(src, offset, length, delimiter, fmt, to, toOffset, pos);
+    }
+
+    // Latin-1 text in byte[], ByteBuffer or off-heap memory is parsed in place, without allocation
+
+    public static long parse(byte[] src, int offset, int length) throws ParseException {
+        return Parsers.TimeSpan.parse(src, offset, length, DEFAULT_FORMAT, null);
+    }
+
+    public static long parse(byte[] src, int offset, int length, String fmt) throws ParseException {
+        return Parsers.TimeSpan.parse(src, offset, length, fmt, null);
+    }
+
+    /**
+     * Parses the text in {@code src[offset, offset + length)}.
+     * On success, the index of {@code end} is set to the offset of the first byte after the parsed text.
+     */
+    public static long parse(byte[] src, int offset, int length, String fmt, ParsePosition end) throws ParseException {
+        return Parsers.TimeSpan.parse(src, offset, length, fmt, end);
+    }
+
+    public static long parse(ByteBuffer src) throws ParseException {
+        return Parsers.TimeSpan.parse(src, DEFAULT_FORMAT);
+    }
+
+    /**
+     * Parses the text between the position and the limit of {@code src}.
+     * On success, the position is advanced past the parsed text.
+     */
+    public static long parse(ByteBuffer src, String fmt) throws ParseException {
+        return Parsers.TimeSpan.parse(src, fmt);
+    }
+
+    public static long parseOffHeap(long address, int length) throws ParseException {
+        return Parsers.TimeSpan.parse(address, length, DEFAULT_FORMAT, null);
+    }
+
+    public static long parseOffHeap(long address, int length, String fmt) throws ParseException {
+        return Parsers.TimeSpan.parse(address, length, fmt, null);
+    }
+
+    /**
+     * Parses the text in off-heap memory range {@code [address, address + length)}.
+     * On success, the index of {@code end} is set to the number of bytes parsed.
+     */
+    public static long parseOffHeap(long address, int length, String fmt, ParsePosition end) throws ParseException {
+        return Parsers.TimeSpan.parse(address, length, fmt, end);
+    }
+
+    /**
+     * @return counters of the global cache of format templates, shared by all the {@link #toString(long, String)}
+     * and appendTo calls with a format string for HdTimeSpan values
+     */
+    public static TemplateCacheStats getFormatTemplateCacheStats() {
+        return Formatters.Context.globalTsTemplateCache.stats();
+    }
+
+    /**
+     * @return counters of the global cache of parse templates, shared by all the parse and tryParse calls
+     * with a format string for HdTimeSpan values
+     */
+    public static TemplateCacheStats getParseTemplateCacheStats() {
+        return Parsers.Context.globalTsTemplateCache.stats();
+    }
+
     // endregion Parsing and formatting
 
     /////////////////////////////////////////////////////////////////////////////////////
@@ -722,6 +867,14 @@ public class HdTimeSpanUtils {
         return appendTo(checkNull(value), appendable, format);
     }
 
+    public static StringBuilder appendToChecked(long value, StringBuilder sb) {
+        return appendTo(checkNull(value), sb);
+    }
+
+    public static StringBuilder appendToChecked(long value, StringBuilder sb, final String format) {
+        return appendTo(checkNull(value), sb, format);
+    }
+
     // endregion Parsing and formatting
 
     // endregion
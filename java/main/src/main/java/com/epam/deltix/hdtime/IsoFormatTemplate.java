@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+/**
+ * Straight-line implementation of the most common DateTime templates, DEFAULT_FORMAT and ISO-8601 variants:
+ * yyyy-MM-dd[ |'T']HH:mm:ss[.fff|.ffffff|.fffffffff]['Z']
+ * Recognized when a template is built. Can be disabled with -Dcom.epam.deltix.hdtime.fusedTemplates=false
+ * Field array is kept, so the template still works with the code that iterates over the fields.
+ */
+final class IsoFormatTemplate extends Formatters.FormatTemplate {
+    static final String PROPERTY = "com.epam.deltix.hdtime.fusedTemplates";
+    static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(PROPERTY));
+
+    private final char separator;   // Between date and time
+    private final int fractions;    // Number of fraction digits: 0, 3, 6 or 9
+    private final char suffix;      // 0 if none
+
+    private IsoFormatTemplate(Formattable[] fields, char separator, int fractions, char suffix) {
+        super(fields);
+        this.separator = separator;
+        this.fractions = fractions;
+        this.suffix = suffix;
+    }
+
+    private static boolean isChar(Formattable f, char ch) {
+        return f instanceof Formatters.CharField && ((Formatters.CharField)f).ch == ch;
+    }
+
+    static Formatters.FormatTemplate specialize(Formatters.FormatTemplate template) {
+        Formattable[] f = template.fields;
+        int n = f.length;
+        if (!ENABLED || n < 11
+                || !(f[0] instanceof Formatters.YearsField4w04) || !isChar(f[1], '-')
+                || !(f[2] instanceof Formatters.MonthNumField2w02) || !isChar(f[3], '-')
+                || !(f[4] instanceof Formatters.DayInMonthField2w02) || !(isChar(f[5], ' ') || isChar(f[5], 'T'))
+                || !(f[6] instanceof Formatters.Hours24Field2w02) || !isChar(f[7], ':')
+                || !(f[8] instanceof Formatters.MinutesField2w02) || !isChar(f[9], ':')
+                || !(f[10] instanceof Formatters.SecondsField2w02))
+            return template;
+
+        int i = 11, fractions = 0;
+        char suffix = 0;
+        if (i + 1 < n && isChar(f[i], '.') && f[i + 1] instanceof Formatters.FractionsField
+                && 0 == (fractions = ((Formatters.FractionsField)f[i + 1]).width) % 3) {
+            i += 2;
+        } else {
+            fractions = 0;
+        }
+
+        if (i < n && isChar(f[i], 'Z')) {
+            suffix = 'Z';
+            ++i;
+        }
+
+        return i == n ? new IsoFormatTemplate(f, ((Formatters.CharField)f[5]).ch, fractions, suffix) : template;
+    }
+
+    @Override
+    public int format(char[] to, int ofs, Components components) {
+        if (0 != suffix)
+            to[ofs--] = suffix;
+
+        int ns = components.nanosecond, us, ms;
+        switch (fractions) {
+            case 9:
+                us = ns / 1000;
+                ms = us / 1000;
+                Formatters.Print.dec3w3(to, ofs, ns - us * 1000);
+                Formatters.Print.dec3w3(to, ofs - 3, us - ms * 1000);
+                ofs = Formatters.Print.dec3w3(to, ofs - 6, ms);
+                to[ofs--] = '.';
+                break;
+            case 6:
+                us = ns / 1000;
+                ms = us / 1000;
+                Formatters.Print.dec3w3(to, ofs, us - ms * 1000);
+                ofs = Formatters.Print.dec3w3(to, ofs - 3, ms);
+                to[ofs--] = '.';
+                break;
+            case 3:
+                ofs = Formatters.Print.dec3w3(to, ofs, ns / 1000000);
+                to[ofs--] = '.';
+        }
+
+        Formatters.Print.dec2w2(to, ofs, components.second);
+        to[ofs - 2] = ':';
+        Formatters.Print.dec2w2(to, ofs - 3, components.minute);
+        to[ofs - 5] = ':';
+        Formatters.Print.dec2w2(to, ofs - 6, components.hour);
+        to[ofs - 8] = separator;
+        Formatters.Print.dec2w2(to, ofs - 9, components.day);
+        to[ofs - 11] = '-';
+        Formatters.Print.dec2w2(to, ofs - 12, components.month);
+        to[ofs - 14] = '-';
+        return Formatters.Print.dec4w4(to, ofs - 15, components.year);
+    }
+
+    @Override
+    public int format(byte[] to, int ofs, Components components) {
+        if (0 != suffix)
+            to[ofs--] = (byte)suffix;
+
+        int ns = components.nanosecond, us, ms;
+        switch (fractions) {
+            case 9:
+                us = ns / 1000;
+                ms = us / 1000;
+                Formatters.Print.dec3w3(to, ofs, ns - us * 1000);
+                Formatters.Print.dec3w3(to, ofs - 3, us - ms * 1000);
+                ofs = Formatters.Print.dec3w3(to, ofs - 6, ms);
+                to[ofs--] = '.';
+                break;
+            case 6:
+                us = ns / 1000;
+                ms = us / 1000;
+                Formatters.Print.dec3w3(to, ofs, us - ms * 1000);
+                ofs = Formatters.Print.dec3w3(to, ofs - 3, ms);
+                to[ofs--] = '.';
+                break;
+            case 3:
+                ofs = Formatters.Print.dec3w3(to, ofs, ns / 1000000);
+                to[ofs--] = '.';
+        }
+
+        Formatters.Print.dec2w2(to, ofs, components.second);
+        to[ofs - 2] = ':';
+        Formatters.Print.dec2w2(to, ofs - 3, components.minute);
+        to[ofs - 5] = ':';
+        Formatters.Print.dec2w2(to, ofs - 6, components.hour);
+        to[ofs - 8] = (byte)separator;
+        Formatters.Print.dec2w2(to, ofs - 9, components.day);
+        to[ofs - 11] = '-';
+        Formatters.Print.dec2w2(to, ofs - 12, components.month);
+        to[ofs - 14] = '-';
+        return Formatters.Print.dec4w4(to, ofs - 15, components.year);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+/**
+ * Small per-thread template cache of a fixed size, keyed by format string. Not thread-safe.
+ * Entries are kept in most recently used first order, the least recently used entry is dropped on insertion.
+ * Lookup compares the keys by identity first, as most callers pass the same String instances,
+ * and then by equals. Doesn't allocate after construction, misses are resolved via the global TemplateCache.
+ */
+final class LocalTemplateCache<T> {
+    static final int DEFAULT_SIZE = 16;
+
+    private final String[] keys;
+    private final Object[] values;
+
+    LocalTemplateCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    LocalTemplateCache(int size) {
+        keys = new String[size];
+        values = new Object[size];
+    }
+
+    T get(String key) {
+        final String[] keys = this.keys;
+        int n = keys.length;
+        for (int i = 0; i < n; ++i) {
+            String k = keys[i];
+            if (k == key)
+                return moveToFront(i);
+
+            if (null == k)
+                break;
+        }
+
+        for (int i = 0; i < n; ++i) {
+            String k = keys[i];
+            if (null == k)
+                break;
+
+            if (k.equals(key))
+                return moveToFront(i);
+        }
+
+        return null;
+    }
+
+    void put(String key, T value) {
+        // Drops the last (least recently used) entry
+        int n = keys.length - 1;
+        System.arraycopy(keys, 0, keys, 1, n);
+        System.arraycopy(values, 0, values, 1, n);
+        keys[0] = key;
+        values[0] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T moveToFront(int i) {
+        String key = keys[i];
+        Object value = values[i];
+        if (0 != i) {
+            System.arraycopy(keys, 0, keys, 1, i);
+            System.arraycopy(values, 0, values, 1, i);
+            keys[0] = key;
+            values[0] = value;
+        }
+
+        return (T)value;
+    }
+}
\ No newline at end of file
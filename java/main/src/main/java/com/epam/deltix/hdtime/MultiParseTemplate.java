@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import java.util.Arrays;
+
+/**
+ * Decision tree (trie) over the field sequences of several DateTime templates. Formats that share a prefix,
+ * such as "yyyy-MM-dd" and "yyyy-MM-dd HH:mm:ss", parse it once, and the next field selects the branch.
+ * The longest match wins, then the first of the formats.
+ * Errors are reported quietly, so rejected branches don't allocate.
+ */
+final class MultiParseTemplate {
+    private static final Node[] NO_CHILDREN = {};
+
+    // Expected first character of a field, other than a specific char
+    private static final int ANY = -1;
+    private static final int DIGIT = -2;
+
+    private static final class Node {
+        final Parseable field;      // null for the root
+        final int first;            // Checked before parsing, so that most of the rejected branches don't throw
+        final boolean startsDate;   // The first date field on the path
+        final boolean hasDate;      // The path up to and including this field has a date field
+        int format = -1;            // Index of the first format that ends here
+        Node[] children = NO_CHILDREN;
+
+        Node(Parseable field, boolean isAfterDate) {
+            this.field = field;
+            this.startsDate = !isAfterDate && null != field && Parsers.isDateField(field);
+            this.hasDate = isAfterDate || startsDate;
+            this.first = field instanceof Parsers.CharField ? ((Parsers.CharField)field).ch
+                    : field instanceof Parsers.StringField ? ((Parsers.StringField)field).str.charAt(0)
+                    : field instanceof Parsers.SignField || field instanceof Parsers.Fail ? ANY
+                    : DIGIT;
+        }
+
+        boolean canStart(CharSequence from, int ofs) {
+            int first = this.first;
+            if (ANY == first)
+                return true;
+
+            if (ofs >= from.length())
+                return false;
+
+            char c = from.charAt(ofs);
+            return DIGIT == first ? c >= '0' && c <= '9' : c == first;
+        }
+
+        Node child(Parseable field) {
+            for (Node child : children)
+                if (child.field.getClass() == field.getClass() && child.field.equals(field))
+                    return child;
+
+            Node child = new Node(field, hasDate);
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+
+    private final Node root = new Node(null, false);
+
+    MultiParseTemplate(Parsers.ParseTemplate[] templates) {
+        for (int i = 0; i < templates.length; ++i) {
+            Node node = root;
+            for (Parseable field : templates[i].fields)
+                node = node.child(field);
+
+            if (node.format < 0)
+                node.format = i;
+        }
+    }
+
+    /**
+     * Returns the end offset in the high 32 bits and the index of the matched format in the low 32 bits,
+     * or -1 if no format matches. Then dst.errorOffset is the start of the date, if a format was complete but
+     * the date is invalid, such as "2021-02-30", or else the furthest offset reached by any of the formats.
+     */
+    long match(CharSequence from, int ofs, ParsedDateTimeValue dst) {
+        dst.reset();
+        dst.errorOffset = ofs;
+        dst.invalidDate = false;
+        dst.quiet = true;
+        try {
+            return match(root, from, ofs, ofs, dst);
+        } finally {
+            dst.quiet = false;
+        }
+    }
+
+    /**
+     * Same as {@link #match(CharSequence, int, ParsedDateTimeValue)}, but a format must match the whole input.
+     * If a format matches a prefix only, the error offset is at least the end of the longest match.
+     */
+    long matchAll(CharSequence from, int ofs, ParsedDateTimeValue dst) {
+        long result = match(from, ofs, dst);
+        int end = (int)(result >>> 32);
+        if (result < 0 || end == from.length())
+            return result;
+
+        if (!dst.invalidDate)
+            dst.errorOffset = Math.max(dst.errorOffset, end);
+
+        return -1;
+    }
+
+    // dateOfs is the offset of the first date field on the path, or the start, if there is none yet
+    private static long match(Node node, CharSequence from, int ofs, int dateOfs, ParsedDateTimeValue dst) {
+        long best = -1;
+        if (node.format >= 0) {
+            if (dst.isValid()) {
+                best = (long)ofs << 32 | node.format;
+            } else if (!dst.invalidDate) {
+                // The first invalid date takes precedence over the branches that didn't match their fields
+                dst.invalidDate = true;
+                dst.errorOffset = dateOfs;
+            }
+        }
+
+        Node[] children = node.children;
+        if (0 == children.length)
+            return best;
+
+        // Fields only modify these, they are restored before trying the next branch
+        long x = dst.x;
+        byte sign = dst.sign;
+        int year = dst.year, month = dst.month, day = dst.day;
+        Node bestChild = null;
+        boolean isCurrent = false;      // dst holds the values of the best branch
+        for (int i = 0; i < children.length; ++i) {
+            if (0 != i)
+                dst.set(x, sign, year, month, day);
+
+            long result = matchChild(children[i], from, ofs, dateOfs, dst);
+            isCurrent = isBetter(result, best);
+            if (isCurrent) {
+                best = result;
+                bestChild = children[i];
+            }
+        }
+
+        if (isCurrent)
+            return best;
+
+        dst.set(x, sign, year, month, day);
+        // A later branch overwrote the values of the best one, that is parsed again. Only for ambiguous formats
+        return null != bestChild ? matchChild(bestChild, from, ofs, dateOfs, dst) : best;
+    }
+
+    private static long matchChild(Node child, CharSequence from, int ofs, int dateOfs, ParsedDateTimeValue dst) {
+        int furthest = dst.errorOffset;
+        if (!child.canStart(from, ofs)) {
+            if (!dst.invalidDate)
+                dst.errorOffset = Math.max(furthest, ofs);
+
+            return -1;
+        }
+
+        if (child.startsDate)
+            dateOfs = ofs;
+
+        try {
+            return match(child, from, child.field.parse(from, ofs, dst), dateOfs, dst);
+        } catch (ParseException e) {
+            dst.errorOffset = dst.invalidDate ? furthest : Math.max(furthest, dst.errorOffset);
+            return -1;
+        }
+    }
+
+    // The longest match wins, then the first format
+    private static boolean isBetter(long a, long b) {
+        return a >= 0 && (b < 0 || a >>> 32 > b >>> 32 || a >>> 32 == b >>> 32 && (int)a < (int)b);
+    }
+}
\ No newline at end of file
@@ -23,4 +23,9 @@ class ParseException extends Exception {
                 : String.format("Unable to parse: '%s' at index %d", string, i));
 
     }
+
+    // Shared instance without message and stack trace, for parsing that reports errors without allocation
+    ParseException() {
+        super("Unable to parse", null, false, false);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+/**
+ * Reusable scratch state for {@link HdDateTimeParser}, {@link HdTimeSpanParser} and {@link HdDateTimeMultiParser}.
+ * Not thread-safe: keep one instance per thread (or per reentrant caller) and pass it to the parse methods
+ * to avoid the thread-local lookup. Parsed results never reference the state.
+ */
+public final class ParseState {
+    final ParsedDateTimeValue dtValue = new ParsedDateTimeValue();
+    final ParsedValue tsValue = new ParsedValue();
+    final ByteSequence bytes = new ByteSequence();
+    final CharArraySequence chars = new CharArraySequence();
+    int matchedFormat = -1;     // Set by HdDateTimeMultiParser
+
+    public ParseState() {
+    }
+}
\ No newline at end of file
@@ -21,9 +21,44 @@ public class ParsedDateTimeValue extends ParsedValue {
     int month;      // Month of year, [0..11] !!
     int day;        // Day of month. [1..31]
 
+    // Last converted date, not cleared by reset(). Parsed timestamps are usually sorted, so consecutive values
+    // share the date, and the conversion with its validation is done once per day. Only valid dates are cached
+    private int lastYear = Integer.MIN_VALUE, lastMonth, lastDay;
+    private long lastDate;
+
+    // Set by the multi-format parser when a format was complete, but the date is invalid. Then errorOffset is the
+    // start of the date. Not cleared by reset()
+    boolean invalidDate;
+
+    private boolean isLastDate() {
+        return year == lastYear && month == lastMonth && day == lastDay;
+    }
+
+    @Override
+    boolean isValid() {
+        return isLastDate() || Convert.DateTime.isValidYear(year) && Convert.DateTime.isValidMonthComponent(month)
+                && Convert.DateTime.isValidDayOfMonthComponent(year, month, day);
+    }
+
     @Override
     long get() {
-        return Convert.DateTime.from(year, month, day) + x;
+        if (!isLastDate()) {
+            lastDate = Convert.DateTime.from(year, month, day);
+            lastYear = year;
+            lastMonth = month;
+            lastDay = day;
+        }
+
+        return lastDate + x;
+    }
+
+    // Restores the values saved before a field was parsed
+    void set(long x, byte sign, int year, int month, int day) {
+        this.x = x;
+        this.sign = sign;
+        this.year = year;
+        this.month = month;
+        this.day = day;
     }
 
     @Override
@@ -19,6 +19,13 @@
 class ParsedValue {
     long x;         // TimeSpan value without sign
     byte sign;      // Sign mask, 0 or -1
+    // Error reporting mode and offset of the last quiet error, not cleared by reset()
+    boolean quiet;
+    int errorOffset;
+
+    boolean isValid() {
+        return true;
+    }
 
     long get() {
         long x = this.x;
@@ -16,8 +16,9 @@
  */
 package com.epam.deltix.hdtime;
 
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
 import java.util.ArrayList;
-import java.util.HashMap;
 
 public class Parsers {
     private final static ThreadLocal<Context> tls = new ThreadLocal<Context>() {
@@ -28,27 +29,186 @@ public class Parsers {
     };
 
     static class Context {
-        static final HashMap<String, ParseTemplate> globalTsTemplateCache = new HashMap<>();
-        static final HashMap<String, ParseTemplate> globalDtTemplateCache = new HashMap<>();
+        static final TemplateCache<ParseTemplate> globalTsTemplateCache = new TemplateCache<>();
+        static final TemplateCache<ParseTemplate> globalDtTemplateCache = new TemplateCache<>();
 
         public Parser dateTimeParser = new DateTime(globalDtTemplateCache);
-        final HashMap<String, ParseTemplate> dtTemplateCache = new HashMap<>();
+        final LocalTemplateCache<ParseTemplate> dtTemplateCache = new LocalTemplateCache<>();
         public String lastDtFmtStr;
         public ParseTemplate lastDtTemplate;
-        public ParsedDateTimeValue dtValue = new ParsedDateTimeValue();
 
         public Parser timeSpanParser = new TimeSpan(globalTsTemplateCache);
-        final HashMap<String, ParseTemplate> tsTemplateCache = new HashMap<>();
+        final LocalTemplateCache<ParseTemplate> tsTemplateCache = new LocalTemplateCache<>();
         public String lastTsFmtStr;
         public ParseTemplate lastTsTemplate;
-        public ParsedValue tsValue = new ParsedValue();
+
+        final ParseState state = new ParseState();
+
+        ParseTemplate getDtTemplate(final String fmt) {
+            // Identity check is enough, most callers pass constant format strings
+            if (fmt != lastDtFmtStr) {
+                lastDtTemplate = dateTimeParser.getTemplate(fmt, dtTemplateCache);
+                lastDtFmtStr = fmt;
+            }
+
+            return lastDtTemplate;
+        }
+
+        ParseTemplate getTsTemplate(final String fmt) {
+            if (fmt != lastTsFmtStr) {
+                lastTsTemplate = timeSpanParser.getTemplate(fmt, tsTemplateCache);
+                lastTsFmtStr = fmt;
+            }
+
+            return lastTsTemplate;
+        }
+    }
+
+    static ParseState state() {
+        return tls.get().state;
+    }
+
+    private static final ParseException QUIET_ERROR = new ParseException();
+
+    static ParseException error(CharSequence from, int ofs, ParsedValue dst) {
+        if (dst.quiet) {
+            dst.errorOffset = ofs;
+            return QUIET_ERROR;
+        }
+
+        return new ParseException(from.toString(), ofs);
+    }
+
+    // Parses into dst, that must be reset. Invalid dates, such as "2021-02-30", are reported at the start of the date
+    static int parseValid(ParseTemplate f, CharSequence from, int ofs, ParsedValue dst) throws ParseException {
+        int end = f.parse(from, ofs, dst);
+        if (!dst.isValid())
+            throw error(from, f.dateOffset(from, ofs, dst), dst);
+
+        return end;
+    }
+
+    // Returns the end offset, or -1 on error, with the error offset in dst. Doesn't allocate
+    static int parseQuietly(ParseTemplate f, CharSequence from, int ofs, ParsedValue dst) {
+        dst.reset();
+        dst.quiet = true;
+        try {
+            return parseValid(f, from, ofs, dst);
+        } catch (ParseException e) {
+            return -1;
+        } finally {
+            dst.quiet = false;
+        }
+    }
+
+    static long quietResult(int end, ParsedValue value, ParsePosition pos) {
+        if (end < 0) {
+            if (null != pos)
+                pos.setErrorIndex(value.errorOffset);
+
+            return Convert.NULL;
+        }
+
+        if (null != pos) {
+            pos.setIndex(end);
+            pos.setErrorIndex(-1);
+        }
+
+        return value.get();
+    }
+
+    // Byte input views are cleared afterwards, so that the state doesn't retain the source
+
+    static int parseBytes(ParseTemplate f, ByteSequence src, ParsedValue dst) throws ParseException {
+        dst.reset();
+        try {
+            return parseValid(f, src, 0, dst);
+        } finally {
+            src.clear();
+        }
+    }
+
+    static int parseBytesQuietly(ParseTemplate f, ByteSequence src, ParsedValue dst) {
+        try {
+            return parseQuietly(f, src, 0, dst);
+        } finally {
+            src.clear();
+        }
+    }
+
+    /**
+     * Parses delimiter-separated values of src[ofs, end) into to[toOffset..], until the input ends, the output is full
+     * or a value is malformed. A value must be consumed by the template entirely, except for '\r' before a '\n'
+     * delimiter. Empty values are stored as NULL, a delimiter at the very end doesn't start a new value.
+     * Errors are reported quietly, via the error index of pos. Returns the number of values stored.
+     */
+    static int parseDelimited(ParseTemplate f, ParsedValue value, CharSequence src, int ofs, int end,
+                              char delimiter, long[] to, int toOffset, ParsePosition pos) {
+        if ((ofs | end - ofs | src.length() - end) < 0 || (toOffset | to.length - toOffset) < 0)
+            throw new IndexOutOfBoundsException();
+
+        int n = toOffset, error = -1;
+        value.quiet = true;
+        try {
+            for (; ofs < end && n < to.length; ++n) {
+                int valueEnd = ofs;
+                while (valueEnd < end && src.charAt(valueEnd) != delimiter)
+                    ++valueEnd;
+
+                // '\r' of CRLF line ends is not a part of the value
+                int textEnd = valueEnd;
+                if ('\n' == delimiter && textEnd != ofs && '\r' == src.charAt(textEnd - 1))
+                    --textEnd;
+
+                long x = Convert.NULL;
+                if (textEnd != ofs) {
+                    // Templates assign only the fields they contain and accumulate the time of day, so the rest
+                    // must be restored to defaults. The last converted date survives the reset
+                    value.reset();
+                    int parsed;
+                    try {
+                        parsed = f.parse(src, ofs, value);
+                    } catch (ParseException e) {
+                        error = value.errorOffset;
+                        break;
+                    }
+
+                    // The template must consume the whole value: it may have stopped short of the delimiter,
+                    // leaving trailing characters, or read into the next value
+                    if (parsed != textEnd) {
+                        error = parsed;
+                        break;
+                    }
+
+                    // Dates of consecutive values are often the same, the value converts the last one only once
+                    if (!value.isValid()) {
+                        error = f.dateOffset(src, ofs, value);
+                        break;
+                    }
+
+                    x = value.get();
+                }
+
+                to[n] = x;
+                ofs = valueEnd < end ? valueEnd + 1 : end;
+            }
+        } finally {
+            value.quiet = false;
+        }
+
+        if (null != pos) {
+            pos.setIndex(ofs);
+            pos.setErrorIndex(error);
+        }
+
+        return n - toOffset;
     }
 
     static class Parse {
-        private static int digit(CharSequence from, int i) throws ParseException {
+        private static int digit(CharSequence from, int i, ParsedValue dst) throws ParseException {
             int x = from.charAt(i) - '0';
             if (x < 0 | x > 9)
-                throw new ParseException(from.toString(), i);
+                throw error(from, i, dst);
 
             return x;
         }
@@ -56,9 +216,9 @@ public class Parsers {
         static int component(final CharSequence from, int ofs, final ParsedValue dst, long scale) throws ParseException {
             int n = from.length();
             if (ofs >= n)
-                throw new ParseException(from.toString(), ofs);
+                throw error(from, ofs, dst);
 
-            int x = digit(from, ofs++);
+            int x = digit(from, ofs++, dst);
             for (; ofs < n; ++ofs) {
                 int c = from.charAt(ofs) - '0';
                 if (c < 0 | c > 9)
@@ -71,9 +231,12 @@ public class Parsers {
             return ofs;
         }
 
-        static long decimal(final CharSequence from, int ofs) throws ParseException {
+        static long decimal(final CharSequence from, int ofs, final ParsedValue dst) throws ParseException {
             int end = from.length();
-            int x = digit(from, ofs++);
+            if (ofs >= end)
+                throw error(from, ofs, dst);
+
+            int x = digit(from, ofs++, dst);
             for (; ofs < end; ++ofs) {
                 int c = from.charAt(ofs) - '0';
                 if (c < 0 | c > 9)
@@ -85,13 +248,13 @@ public class Parsers {
             return ((long)ofs << 32) | x;
         }
 
-        static int decimalFixed(final CharSequence from, int ofs, int end) throws ParseException {
+        static int decimalFixed(final CharSequence from, int ofs, int end, final ParsedValue dst) throws ParseException {
             if (end > from.length())
-                throw new ParseException(from.toString(), ofs);
+                throw error(from, ofs, dst);
 
-            int x = digit(from, ofs++);
+            int x = digit(from, ofs++, dst);
             for (; ofs < end; ++ofs) {
-                x = x * 10 + digit(from, ofs);
+                x = x * 10 + digit(from, ofs, dst);
             }
 
             return x;
@@ -100,13 +263,13 @@ public class Parsers {
         static int component(final CharSequence from,
                              int ofs, int length,
                              final ParsedValue dst, long scale) throws ParseException {
-            dst.x += scale * decimalFixed(from, ofs, ofs + length);
+            dst.x += scale * decimalFixed(from, ofs, ofs + length, dst);
             return ofs + length;
         }
 
         public static int sign(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
             if (ofs >= from.length())
-                throw new ParseException(from.toString(), ofs);
+                throw error(from, ofs, dst);
 
             int sign = from.charAt(ofs) == '-' ? -1 : 0;
             dst.sign = (byte) sign;
@@ -122,6 +285,11 @@ public class Parsers {
         FixedLengthField(int length) {
             this.length = length;
         }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode() * 31 ^ length;
+        }
     }
 
     static abstract class StaticField extends StaticFormatField implements Parseable {
@@ -155,9 +323,12 @@ public class Parsers {
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
             int n = str.length();
+            if (ofs + n > from.length())
+                throw error(from, ofs, dst);
+
             for (int i = 0; i < n; ++i)
                 if (from.charAt(ofs + i) != str.charAt(i))
-                    throw new ParseException(from.toString(), ofs + i);
+                    throw error(from, ofs + i, dst);
 
             return n + ofs;
         }
@@ -182,8 +353,8 @@ public class Parsers {
 
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
-            if (ch != from.charAt(ofs))
-                throw new ParseException(from.toString(), ofs);
+            if (ofs >= from.length() || ch != from.charAt(ofs))
+                throw error(from, ofs, dst);
 
             return ofs + 1;
         }
@@ -204,7 +375,7 @@ public class Parsers {
     static class YearsField4w4 extends Field {
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
-            ((ParsedDateTimeValue)dst).year = Parse.decimalFixed(from, ofs, ofs + 4);
+            ((ParsedDateTimeValue)dst).year = Parse.decimalFixed(from, ofs, ofs + 4, dst);
             return ofs + 4;
         }
     }
@@ -212,7 +383,7 @@ public class Parsers {
     static class YearsField4 extends Field {
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
-            long t = Parse.decimal(from, ofs);
+            long t = Parse.decimal(from, ofs, dst);
             ((ParsedDateTimeValue)dst).year = (int)t;
             return (int)(t >> 32);
         }
@@ -221,7 +392,7 @@ public class Parsers {
     static class MonthNumField2 extends Field {
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
-            long t = Parse.decimal(from, ofs);
+            long t = Parse.decimal(from, ofs, dst);
             ((ParsedDateTimeValue)dst).month = (int)t;
             return (int)(t >> 32);
         }
@@ -230,7 +401,7 @@ public class Parsers {
     static class MonthNumField2w2 extends Field {
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
-            ((ParsedDateTimeValue)dst).month = Parse.decimalFixed(from, ofs, ofs + 2);
+            ((ParsedDateTimeValue)dst).month = Parse.decimalFixed(from, ofs, ofs + 2, dst);
             return ofs + 2;
         }
     }
@@ -246,7 +417,7 @@ public class Parsers {
     static class DaysCountField1w1 extends Field {
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
-            dst.x += Convert.NS_IN_DAY * Parse.decimalFixed(from, ofs, ofs + 1);
+            dst.x += Convert.NS_IN_DAY * Parse.decimalFixed(from, ofs, ofs + 1, dst);
             return ofs + 1;
         }
     }
@@ -254,7 +425,7 @@ public class Parsers {
     static class DaysCountField2w2 extends Field {
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
-            dst.x += Convert.NS_IN_DAY * Parse.decimalFixed(from, ofs, ofs + 2);
+            dst.x += Convert.NS_IN_DAY * Parse.decimalFixed(from, ofs, ofs + 2, dst);
             return ofs + 2;
         }
     }
@@ -262,7 +433,7 @@ public class Parsers {
     static class DayOfMonthField2w2 extends Field {
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
-            ((ParsedDateTimeValue)dst).day = Parse.decimalFixed(from, ofs, ofs + 2);
+            ((ParsedDateTimeValue)dst).day = Parse.decimalFixed(from, ofs, ofs + 2, dst);
             return ofs + 2;
         }
     }
@@ -270,7 +441,7 @@ public class Parsers {
     static class DayOfMonthField2 extends Field {
         @Override
         public int parse(CharSequence from, int ofs, ParsedValue dst) throws ParseException {
-            long t = Parse.decimal(from, ofs);
+            long t = Parse.decimal(from, ofs, dst);
             ((ParsedDateTimeValue)dst).day = (int)t;
             return (int)(t >> 32);
         }
@@ -352,6 +523,13 @@ public class Parsers {
         }
     }
 
+    // Fields of the year, month and day, validated together after parsing
+    static boolean isDateField(Parseable field) {
+        return field instanceof YearsField4w4 || field instanceof YearsField4
+                || field instanceof MonthNumField2 || field instanceof MonthNumField2w2
+                || field instanceof DayOfMonthField2w2 || field instanceof DayOfMonthField2;
+    }
+
     static class ParseTemplate implements Parseable {
         final Parseable[] fields;
 
@@ -367,6 +545,28 @@ public class Parsers {
             return ofs;
         }
 
+        // Offset of the first date field in the text parsed from ofs, or ofs if there is none. Parses the fields
+        // again, to be called only after a successful parse, on the error path
+        int dateOffset(CharSequence from, int ofs, ParsedValue dst) {
+            boolean quiet = dst.quiet;
+            dst.quiet = true;
+            try {
+                int start = ofs;
+                for (Parseable field : fields) {
+                    if (isDateField(field))
+                        return ofs;
+
+                    ofs = field.parse(from, ofs, dst);
+                }
+
+                return start;
+            } catch (ParseException e) {
+                return dst.errorOffset;
+            } finally {
+                dst.quiet = quiet;
+            }
+        }
+
         static class Builder extends ArrayBuilder<Parseable> {
             int mask;
             ParseTemplate get() {
@@ -390,11 +590,11 @@ public class Parsers {
 
     protected static abstract class Parser implements FormatString.Target {
         // Static Fields
-        protected final HashMap<String, ParseTemplate> globalTemplateCache; // Set by a child
+        protected final TemplateCache<ParseTemplate> globalTemplateCache; // Set by a child
         // Instance fields
         protected final ParseTemplate.Builder builder = new ParseTemplate.Builder();
 
-        Parser(HashMap<String, ParseTemplate> globalTemplateCache) {
+        Parser(TemplateCache<ParseTemplate> globalTemplateCache) {
             this.globalTemplateCache = globalTemplateCache;
         }
 
@@ -418,26 +618,14 @@ public class Parsers {
             FormatString.parse(fmt, this);
         }
 
-        protected ParseTemplate getCachedOrNewTemplate(final String fmt, final HashMap<String, ParseTemplate> local) {
-            ParseTemplate f;
-            final HashMap<String, ParseTemplate> global = globalTemplateCache;
-            // Try to find in the global formatter cache
-            synchronized (global) {
-                f = global.get(fmt);
-            }
-
+        protected ParseTemplate getCachedOrNewTemplate(final String fmt, final LocalTemplateCache<ParseTemplate> local) {
+            // Try to find in the global cache
+            ParseTemplate f = globalTemplateCache.get(fmt);
             if (null == f) {
                 builder.clear();
                 parseFormat(fmt);
-                f = builder.get();
-                synchronized (global) {
-                    ParseTemplate tmp = global.get(fmt);
-                    if (null == tmp)
-                        global.put(fmt, f);
-                    else
-                        f = tmp;
-                }
-
+                // Another thread may have inserted the same format meanwhile, use the cached one then
+                f = globalTemplateCache.putIfAbsent(fmt, newTemplate());
                 assert (null != f);
             }
 
@@ -446,7 +634,11 @@ public class Parsers {
             return f;
         }
 
-        protected ParseTemplate getTemplate(final String fmt, final HashMap<String, ParseTemplate> local) {
+        protected ParseTemplate newTemplate() {
+            return CompiledTemplates.compile(builder.get());
+        }
+
+        protected ParseTemplate getTemplate(final String fmt, final LocalTemplateCache<ParseTemplate> local) {
             ParseTemplate f;
             return null != (f = local.get(fmt)) ? f : getCachedOrNewTemplate(fmt, local);
         }
@@ -462,7 +654,7 @@ public class Parsers {
         protected static final int[] fieldLengths;
         protected static final int[] conditions;
 
-        public DefaultTimeParser(HashMap<String, ParseTemplate> globalTemplateCache) {
+        public DefaultTimeParser(TemplateCache<ParseTemplate> globalTemplateCache) {
             super(globalTemplateCache);
         }
 
@@ -526,7 +718,7 @@ public class Parsers {
         protected static final int[] fieldLengths;
         protected static final int[] conditions;
 
-        DateTime(HashMap<String, ParseTemplate> globalTemplateCache) {
+        DateTime(TemplateCache<ParseTemplate> globalTemplateCache) {
             super(globalTemplateCache);
         }
 
@@ -589,17 +781,132 @@ public class Parsers {
                 throw new FormatError("Incomplete DateTime format string: " + fmt);
         }
 
+        @Override
+        protected ParseTemplate newTemplate() {
+            return FixedWidthParseTemplate.specialize(super.newTemplate());
+        }
+
         // endregion Formatter: FormatString delegate
 
+        static ParseTemplate getTemplate(final String fmt) {
+            return tls.get().getDtTemplate(fmt);
+        }
+
+        // Methods with a format string use the thread-local context, the others take the template and the state
+
         static long parse(CharSequence src, String fmt) throws ParseException {
             Context ctx = tls.get();
-            ParsedDateTimeValue value = ctx.dtValue;
-            value.reset();
-            int end = parse(src, value,
-                    fmt == ctx.lastDtFmtStr ? ctx.lastDtTemplate : ctx.dateTimeParser.getTemplate(fmt, ctx.dtTemplateCache));
+            return parse(src, ctx.getDtTemplate(fmt), ctx.state);
+        }
 
+        static long parse(CharSequence src, ParseTemplate f, ParseState state) throws ParseException {
+            ParsedDateTimeValue value = state.dtValue;
+            value.reset();
+            parseValid(f, src, 0, value);
             return value.get();
         }
+
+        // Returns NULL on error. Parses from the index of pos, if not null, and sets the end or the error index
+        static long tryParse(CharSequence src, String fmt, ParsePosition pos) {
+            Context ctx = tls.get();
+            return tryParse(src, pos, ctx.getDtTemplate(fmt), ctx.state);
+        }
+
+        static long tryParse(CharSequence src, ParsePosition pos, ParseTemplate f, ParseState state) {
+            ParsedDateTimeValue value = state.dtValue;
+            return quietResult(parseQuietly(f, src, null != pos ? pos.getIndex() : 0, value), value, pos);
+        }
+
+        static long tryParse(byte[] src, int offset, int length, String fmt) {
+            Context ctx = tls.get();
+            return tryParse(src, offset, length, ctx.getDtTemplate(fmt), ctx.state);
+        }
+
+        static long tryParse(byte[] src, int offset, int length, ParseTemplate f, ParseState state) {
+            ParsedDateTimeValue value = state.dtValue;
+            return quietResult(parseBytesQuietly(f, state.bytes.set(src, offset, length), value), value, null);
+        }
+
+        static int parseDelimited(CharSequence src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+            Context ctx = tls.get();
+            return parseDelimited(src, offset, length, delimiter, to, toOffset, pos, ctx.getDtTemplate(fmt), ctx.state);
+        }
+
+        static int parseDelimited(CharSequence src, int offset, int length, char delimiter,
+                                  long[] to, int toOffset, ParsePosition pos, ParseTemplate f, ParseState state) {
+            return Parsers.parseDelimited(f, state.dtValue, src, offset, offset + length, delimiter, to, toOffset, pos);
+        }
+
+        static int parseDelimited(char[] src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+            Context ctx = tls.get();
+            return parseDelimited(src, offset, length, delimiter, to, toOffset, pos, ctx.getDtTemplate(fmt), ctx.state);
+        }
+
+        static int parseDelimited(char[] src, int offset, int length, char delimiter,
+                                  long[] to, int toOffset, ParsePosition pos, ParseTemplate f, ParseState state) {
+            CharArraySequence chars = state.chars.set(src);
+            try {
+                return Parsers.parseDelimited(f, state.dtValue, chars, offset, offset + length, delimiter, to, toOffset, pos);
+            } finally {
+                chars.clear();
+            }
+        }
+
+        static int parseDelimited(byte[] src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+            Context ctx = tls.get();
+            return parseDelimited(src, offset, length, delimiter, to, toOffset, pos, ctx.getDtTemplate(fmt), ctx.state);
+        }
+
+        static int parseDelimited(byte[] src, int offset, int length, char delimiter,
+                                  long[] to, int toOffset, ParsePosition pos, ParseTemplate f, ParseState state) {
+            ByteSequence bytes = state.bytes.set(src, 0, src.length);
+            try {
+                return Parsers.parseDelimited(f, state.dtValue, bytes, offset, offset + length, delimiter, to, toOffset, pos);
+            } finally {
+                bytes.clear();
+            }
+        }
+
+        // region Byte input: Latin-1 text in byte[], ByteBuffer or off-heap memory, parsed without decoding
+
+        static long parse(byte[] src, int offset, int length, String fmt, ParsePosition end) throws ParseException {
+            Context ctx = tls.get();
+            return parse(src, offset, length, end, ctx.getDtTemplate(fmt), ctx.state);
+        }
+
+        static long parse(byte[] src, int offset, int length, ParsePosition end, ParseTemplate f, ParseState state)
+                throws ParseException {
+            int n = parseBytes(f, state.bytes.set(src, offset, length), state.dtValue);
+            if (null != end)
+                end.setIndex(offset + n);
+
+            return state.dtValue.get();
+        }
+
+        static long parse(ByteBuffer src, String fmt) throws ParseException {
+            Context ctx = tls.get();
+            ParseState state = ctx.state;
+            int n = parseBytes(ctx.getDtTemplate(fmt), state.bytes.set(src), state.dtValue);
+            // The position is only advanced on success
+            long value = state.dtValue.get();
+            src.position(src.position() + n);
+            return value;
+        }
+
+        static long parse(long address, int length, String fmt, ParsePosition end) throws ParseException {
+            Context ctx = tls.get();
+            ParseState state = ctx.state;
+            int n = parseBytes(ctx.getDtTemplate(fmt), state.bytes.set(address, length), state.dtValue);
+            if (null != end)
+                end.setIndex(n);
+
+            return state.dtValue.get();
+        }
+
+        // endregion Byte input
     }
 
     static class TimeSpan extends DefaultTimeParser {
@@ -607,7 +914,7 @@ public class Parsers {
         protected static final int[] fieldLengths;
         protected static final int[] conditions;
 
-        TimeSpan(HashMap<String, ParseTemplate> globalTemplateCache) {
+        TimeSpan(TemplateCache<ParseTemplate> globalTemplateCache) {
             super(globalTemplateCache);
         }
 
@@ -677,14 +984,124 @@ public class Parsers {
             }
         }
 
+        static ParseTemplate getTemplate(final String fmt) {
+            return tls.get().getTsTemplate(fmt);
+        }
+
+        // Methods with a format string use the thread-local context, the others take the template and the state
+
         static long parse(CharSequence src, String fmt) throws ParseException {
             Context ctx = tls.get();
-            ParsedValue value = ctx.tsValue;
-            value.reset();
-            int end = parse(src, value,
-                    fmt == ctx.lastTsFmtStr ? ctx.lastTsTemplate : ctx.timeSpanParser.getTemplate(fmt, ctx.tsTemplateCache));
+            return parse(src, ctx.getTsTemplate(fmt), ctx.state);
+        }
 
+        static long parse(CharSequence src, ParseTemplate f, ParseState state) throws ParseException {
+            ParsedValue value = state.tsValue;
+            value.reset();
+            f.parse(src, 0, value);
             return value.get();
         }
+
+        // Returns NULL on error. Parses from the index of pos, if not null, and sets the end or the error index
+        static long tryParse(CharSequence src, String fmt, ParsePosition pos) {
+            Context ctx = tls.get();
+            return tryParse(src, pos, ctx.getTsTemplate(fmt), ctx.state);
+        }
+
+        static long tryParse(CharSequence src, ParsePosition pos, ParseTemplate f, ParseState state) {
+            ParsedValue value = state.tsValue;
+            return quietResult(parseQuietly(f, src, null != pos ? pos.getIndex() : 0, value), value, pos);
+        }
+
+        static long tryParse(byte[] src, int offset, int length, String fmt) {
+            Context ctx = tls.get();
+            return tryParse(src, offset, length, ctx.getTsTemplate(fmt), ctx.state);
+        }
+
+        static long tryParse(byte[] src, int offset, int length, ParseTemplate f, ParseState state) {
+            ParsedValue value = state.tsValue;
+            return quietResult(parseBytesQuietly(f, state.bytes.set(src, offset, length), value), value, null);
+        }
+
+        static int parseDelimited(CharSequence src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+            Context ctx = tls.get();
+            return parseDelimited(src, offset, length, delimiter, to, toOffset, pos, ctx.getTsTemplate(fmt), ctx.state);
+        }
+
+        static int parseDelimited(CharSequence src, int offset, int length, char delimiter,
+                                  long[] to, int toOffset, ParsePosition pos, ParseTemplate f, ParseState state) {
+            return Parsers.parseDelimited(f, state.tsValue, src, offset, offset + length, delimiter, to, toOffset, pos);
+        }
+
+        static int parseDelimited(char[] src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+            Context ctx = tls.get();
+            return parseDelimited(src, offset, length, delimiter, to, toOffset, pos, ctx.getTsTemplate(fmt), ctx.state);
+        }
+
+        static int parseDelimited(char[] src, int offset, int length, char delimiter,
+                                  long[] to, int toOffset, ParsePosition pos, ParseTemplate f, ParseState state) {
+            CharArraySequence chars = state.chars.set(src);
+            try {
+                return Parsers.parseDelimited(f, state.tsValue, chars, offset, offset + length, delimiter, to, toOffset, pos);
+            } finally {
+                chars.clear();
+            }
+        }
+
+        static int parseDelimited(byte[] src, int offset, int length, char delimiter, String fmt,
+                                  long[] to, int toOffset, ParsePosition pos) {
+            Context ctx = tls.get();
+            return parseDelimited(src, offset, length, delimiter, to, toOffset, pos, ctx.getTsTemplate(fmt), ctx.state);
+        }
+
+        static int parseDelimited(byte[] src, int offset, int length, char delimiter,
+                                  long[] to, int toOffset, ParsePosition pos, ParseTemplate f, ParseState state) {
+            ByteSequence bytes = state.bytes.set(src, 0, src.length);
+            try {
+                return Parsers.parseDelimited(f, state.tsValue, bytes, offset, offset + length, delimiter, to, toOffset, pos);
+            } finally {
+                bytes.clear();
+            }
+        }
+
+        // region Byte input: Latin-1 text in byte[], ByteBuffer or off-heap memory, parsed without decoding
+
+        static long parse(byte[] src, int offset, int length, String fmt, ParsePosition end) throws ParseException {
+            Context ctx = tls.get();
+            return parse(src, offset, length, end, ctx.getTsTemplate(fmt), ctx.state);
+        }
+
+        static long parse(byte[] src, int offset, int length, ParsePosition end, ParseTemplate f, ParseState state)
+                throws ParseException {
+            int n = parseBytes(f, state.bytes.set(src, offset, length), state.tsValue);
+            if (null != end)
+                end.setIndex(offset + n);
+
+            return state.tsValue.get();
+        }
+
+        static long parse(ByteBuffer src, String fmt) throws ParseException {
+            Context ctx = tls.get();
+            ParseState state = ctx.state;
+            int n = parseBytes(ctx.getTsTemplate(fmt), state.bytes.set(src), state.tsValue);
+            // The position is only advanced on success
+            long value = state.tsValue.get();
+            src.position(src.position() + n);
+            return value;
+        }
+
+        static long parse(long address, int length, String fmt, ParsePosition end) throws ParseException {
+            Context ctx = tls.get();
+            ParseState state = ctx.state;
+            int n = parseBytes(ctx.getTsTemplate(fmt), state.bytes.set(address, length), state.tsValue);
+            if (null != end)
+                end.setIndex(n);
+
+            return state.tsValue.get();
+        }
+
+        // endregion Byte input
     }
 }
\ No newline at end of file
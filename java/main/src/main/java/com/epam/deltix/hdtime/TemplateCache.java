@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Global (shared by all threads) cache of compiled templates, keyed by format string.
+ * Lookups and insertions are lock-free. The size is bounded, entries are evicted with CLOCK (second chance)
+ * policy: the clock hand sweeps the entries, clearing the reference bit of recently used ones
+ * and evicting the first one that was not used since the previous sweep.
+ * Eviction is done by the inserting thread only if no other thread is evicting, so the cache may briefly
+ * hold a few more entries than the capacity, but concurrent misses never wait for each other.
+ * The size can be set with -Dcom.epam.deltix.hdtime.templateCacheSize=N
+ */
+final class TemplateCache<T> {
+    static final String SIZE_PROPERTY = "com.epam.deltix.hdtime.templateCacheSize";
+    static final int DEFAULT_CAPACITY = Integer.getInteger(SIZE_PROPERTY, 1024);
+
+    private static final class Entry<T> {
+        final T value;
+        volatile boolean referenced;
+
+        Entry(T value) {
+            this.value = value;
+        }
+    }
+
+    private final int capacity;
+    private final ConcurrentHashMap<String, Entry<T>> map;
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<java.util.Map.Entry<String, Entry<T>>> hand; // Guarded by evictionLock
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    TemplateCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    TemplateCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Template cache capacity must be positive: " + capacity);
+
+        this.capacity = capacity;
+        this.map = new ConcurrentHashMap<>(Math.min(capacity, 0x100));
+    }
+
+    T get(String key) {
+        Entry<T> e = map.get(key);
+        if (null == e) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        // Avoid writing the shared entry if it is already marked
+        if (!e.referenced)
+            e.referenced = true;
+
+        return e.value;
+    }
+
+    /**
+     * @return the value already in the cache, if any, otherwise the value that was inserted
+     */
+    T putIfAbsent(String key, T value) {
+        Entry<T> e = map.putIfAbsent(key, new Entry<>(value));
+        if (null != e)
+            return e.value;
+
+        if (size.incrementAndGet() > capacity)
+            evict();
+
+        return value;
+    }
+
+    private void evict() {
+        // Re-checked after unlocking: an insertion that failed to take the lock meanwhile relies on this thread
+        while (size.get() > capacity && evictionLock.tryLock()) {
+            try {
+                while (size.get() > capacity) {
+                    if (null == hand || !hand.hasNext())
+                        hand = map.entrySet().iterator();
+
+                    java.util.Map.Entry<String, Entry<T>> next = hand.next();
+                    Entry<T> e = next.getValue();
+                    if (e.referenced) {
+                        e.referenced = false;
+                    } else if (map.remove(next.getKey(), e)) {
+                        size.decrementAndGet();
+                        evictions.increment();
+                    }
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    TemplateCacheStats stats() {
+        return new TemplateCacheStats(size(), capacity, hits(), misses(), evictions());
+    }
+
+    @Override
+    public String toString() {
+        return stats().toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+public class CompiledTemplatesTest {
+    private static final String[] DATE_TIME_FORMATS = {
+            "yyyy-MM-dd HH:mm:ss.fffffffff", "yy-M-d H:m:s.f", "dd.MM.yyyy HH:mm", "yyyyMMddHHmmssfff",
+            "d MMM yyyy", "MMMMMMMMMM dd yyyy 'at' HH:mm:ss.ffffffff", "'\u20AC'yyyy-MM-dd'T'HH:mm:ss.ffffffZ"
+    };
+
+    private static final String[] TIME_SPAN_FORMATS = {
+            "d HH:mm:ss.fffffffff", "d.H:m:s.ff", "dd'd' HH'h'", "ddddd HHmmss.fffff", "-d mm"
+    };
+
+    private static final String[] PARSE_FORMATS = {
+            "yyyy-MM-dd HH:mm:ss.fffffffff", "y-M-d H:m:s.f", "dd.MM.yyyy HH:mm", "yyyyMMddHHmmssfff",
+            "'date:'yyyy/MM/dd' time:'HH.mm.ss.ffffff"
+    };
+
+    @Test
+    public void testFormatVsFieldLoop() {
+        Random rnd = new Random(6);
+        Components components = new Components();
+        char[] expected = new char[0x40], actual = new char[0x40];
+        byte[] expectedBytes = new byte[0x40], actualBytes = new byte[0x40];
+        BitSet opcodes = new BitSet();
+        for (int k = 0; k < 2; ++k) {
+            String[] formats = 0 == k ? DATE_TIME_FORMATS : TIME_SPAN_FORMATS;
+            for (String fmt : formats) {
+                Formatters.FormatTemplate template = 0 == k
+                        ? Formatters.DateTime.getTemplate(fmt) : Formatters.TimeSpan.getTemplate(fmt);
+                Formatters.FormatTemplate loop = new Formatters.FormatTemplate(template.fields);
+                CompiledTemplates.Format compiled = new CompiledTemplates.Format(template.fields);
+                for (int op : compiled.ops)
+                    opcodes.set(op & 0xFF);
+
+                for (int i = 0; i < 1000; ++i) {
+                    if (0 == k) {
+                        Convert.DateTime.toComponents(HdDateTimeUtils.MIN_VALUE
+                                + (long)(rnd.nextDouble() * ((double)HdDateTimeUtils.MAX_VALUE - HdDateTimeUtils.MIN_VALUE)), components);
+                    } else {
+                        Convert.TimeSpan.toComponents(rnd.nextLong() >> rnd.nextInt(20), components);
+                    }
+
+                    int start = loop.format(expected, expected.length - 1, components);
+                    Assert.assertEquals(fmt, start, compiled.format(actual, actual.length - 1, components));
+                    Assert.assertEquals(new String(expected, start + 1, expected.length - start - 1),
+                            new String(actual, start + 1, actual.length - start - 1));
+
+                    start = loop.format(expectedBytes, expectedBytes.length - 1, components);
+                    Assert.assertEquals(fmt, start, compiled.format(actualBytes, actualBytes.length - 1, components));
+                    Assert.assertEquals(new String(expectedBytes, start + 1, expectedBytes.length - start - 1),
+                            new String(actualBytes, start + 1, actualBytes.length - start - 1));
+                }
+            }
+        }
+
+        // Every opcode of the format programs was run with both char[] and byte[] output
+        BitSet all = new BitSet();
+        for (int op : new int[] { CompiledTemplates.FIELD, CompiledTemplates.CHAR, CompiledTemplates.STRING,
+                CompiledTemplates.SIGN, CompiledTemplates.YEAR_W2, CompiledTemplates.YEAR_W4,
+                CompiledTemplates.MONTH, CompiledTemplates.MONTH_W2, CompiledTemplates.DAY, CompiledTemplates.DAY_W2,
+                CompiledTemplates.DAYS, CompiledTemplates.HOUR, CompiledTemplates.HOUR_W2, CompiledTemplates.MINUTE,
+                CompiledTemplates.MINUTE_W2, CompiledTemplates.SECOND, CompiledTemplates.SECOND_W2,
+                CompiledTemplates.FRACTIONS })
+            all.set(op);
+
+        Assert.assertEquals(all, opcodes);
+    }
+
+    @Test
+    public void testFixedWidthParse() throws Exception {
+        Random rnd = new Random(8);
+        Parsers.DateTime parser = new Parsers.DateTime(new TemplateCache<>());
+        String[] formats = {
+                "yyyy-MM-dd HH:mm:ss.fffffffff", "yyyyMMdd-HH:mm:ss.fff", "yyyy-MM-dd'T'HH:mm:ss.ffffff'Z'",
+                "yyyyMMddHHmmssfff", "dd.MM.yyyy HH:mm", "'date:'yyyy/MM/dd' time:'HH.mm.ss.f"
+        };
+
+        char[] noise = { '0', '9', '/', ':', 'x', ' ', '\u00FF', '\u20AC' };
+        for (String fmt : formats) {
+            Parsers.ParseTemplate template = parser.getTemplate(fmt, new LocalTemplateCache<>());
+            Assert.assertEquals(fmt, FixedWidthParseTemplate.ENABLED, template instanceof FixedWidthParseTemplate);
+            Parsers.ParseTemplate loop = new Parsers.ParseTemplate(template.fields);
+            for (int i = 0; i < 2000; ++i) {
+                long dt = HdDateTimeUtils.MIN_VALUE + (long)(rnd.nextDouble() * ((double)HdDateTimeUtils.MAX_VALUE - HdDateTimeUtils.MIN_VALUE));
+                String str = HdDateTimeUtils.toString(dt, fmt);
+                // Half of the inputs are malformed, or followed by other text
+                if (0 != (i & 1)) {
+                    char[] chars = str.toCharArray();
+                    chars[rnd.nextInt(chars.length)] = noise[rnd.nextInt(noise.length)];
+                    str = new String(chars);
+                } else if (0 != (i & 2)) {
+                    str = str + ",next";
+                }
+
+                Assert.assertEquals(parseResult(loop, str), parseResult(template, str));
+            }
+
+            Assert.assertEquals(parseResult(loop, ""), parseResult(template, ""));
+        }
+
+        Assert.assertFalse(parser.getTemplate("y-M-d H:m:s.f", new LocalTemplateCache<>()) instanceof FixedWidthParseTemplate);
+    }
+
+    private static String parseResult(Parsers.ParseTemplate template, String str) {
+        ParsedDateTimeValue value = new ParsedDateTimeValue();
+        value.reset();
+        try {
+            int end = template.parse(str, 0, value);
+            return end + ":" + value.year + "-" + value.month + "-" + value.day + "+" + value.x;
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+
+    @Test
+    public void testParseVsFieldLoop() throws Exception {
+        Random rnd = new Random(7);
+        ParsedDateTimeValue expected = new ParsedDateTimeValue(), actual = new ParsedDateTimeValue();
+        Parsers.DateTime parser = new Parsers.DateTime(new TemplateCache<>());
+        for (String fmt : PARSE_FORMATS) {
+            Parsers.ParseTemplate template = parser.getTemplate(fmt, new LocalTemplateCache<>());
+            Parsers.ParseTemplate loop = new Parsers.ParseTemplate(template.fields);
+            Parsers.ParseTemplate compiled = new CompiledTemplates.Parse(template.fields);
+            for (int i = 0; i < 1000; ++i) {
+                long dt = HdDateTimeUtils.MIN_VALUE + (long)(rnd.nextDouble() * ((double)HdDateTimeUtils.MAX_VALUE - HdDateTimeUtils.MIN_VALUE));
+                String str = HdDateTimeUtils.toString(dt, fmt);
+                expected.reset();
+                actual.reset();
+                Assert.assertEquals(loop.parse(str, 0, expected), compiled.parse(str, 0, actual));
+                Assert.assertEquals(expected.get(), actual.get());
+                Assert.assertEquals(HdDateTimeUtils.parse(str, fmt), actual.get());
+            }
+
+            // Both fail on the same input
+            for (String str : new String[] { "", "2000", "2000-01-01 00:00:0x.000000000" }) {
+                String loopError = null, compiledError = null;
+                try {
+                    loop.parse(str, 0, new ParsedDateTimeValue());
+                } catch (Exception e) {
+                    loopError = e.getClass().getName();
+                }
+
+                try {
+                    compiled.parse(str, 0, new ParsedDateTimeValue());
+                } catch (Exception e) {
+                    compiledError = e.getClass().getName();
+                }
+
+                Assert.assertNotNull(loopError);
+                Assert.assertEquals(loopError, compiledError);
+            }
+        }
+    }
+}
\ No newline at end of file
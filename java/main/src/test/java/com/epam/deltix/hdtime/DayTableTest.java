@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+
+public class DayTableTest {
+    @Test
+    public void testTableVsLocalDate() {
+        // Also covers a few days outside of HdDateTime range, that are computed without the table
+        for (int days = DayTable.FIRST_DAY - 10; days <= DayTable.LAST_DAY + 10; ++days) {
+            LocalDate date = LocalDate.ofEpochDay(days);
+            int civil = DayTable.civil(days);
+            Assert.assertEquals(Convert.DateTime.civilFromEpochDays(days), civil);
+            Assert.assertEquals(date.getYear(), Convert.DateTime.civilYear(civil));
+            Assert.assertEquals(date.getMonthValue(), Convert.DateTime.civilMonth(civil));
+            Assert.assertEquals(date.getDayOfMonth(), Convert.DateTime.civilDay(civil));
+            Assert.assertEquals(date.getDayOfYear(), DayTable.dayOfYear(days));
+            Assert.assertEquals(date.getDayOfWeek().getValue(), DayTable.dayOfWeek(days));
+            Assert.assertEquals(date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), DayTable.isoWeek(days));
+        }
+    }
+}
\ No newline at end of file
@@ -19,6 +19,11 @@
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Month;
+import java.util.Random;
+
 public class FormattersTest {
     @Test
     public void testFieldEquality() {
@@ -31,4 +36,188 @@ public class FormattersTest {
         Assert.assertNotEquals(new Formatters.StringField("123456Abc").hashCode(), new Formatters.StringField("123456abc").hashCode());
         Assert.assertNotEquals(new Formatters.StringField("123456Abc"), new Formatters.StringField("123456abc"));
     }
+
+    @Test
+    public void testPrecompiledFormatters() throws Exception {
+        String[] formats = { "yyyy-MM-dd HH:mm:ss.fffffffff", "yyyyMMdd'T'HHmmss.fff", "d MMM yyyy H:m:s", "dd/MM/yy" };
+        String[] tsFormats = { "d HH:mm:ss.fffffffff", "d.H:m:s.ff", "HH:mm" };
+        Random rnd = new Random(1);
+        for (int i = 0; i < 1000; ++i) {
+            long dt = HdDateTimeUtils.MIN_VALUE + (long)(rnd.nextDouble() * (HdDateTimeUtils.MAX_VALUE - HdDateTimeUtils.MIN_VALUE));
+            for (String fmt : formats) {
+                HdDateTimeFormatter formatter = HdDateTimeFormatter.of(fmt);
+                Assert.assertEquals(HdDateTimeUtils.toString(dt, fmt), formatter.format(dt));
+                Assert.assertEquals(HdDateTimeUtils.toString(dt, fmt), formatter.format(dt, new StringBuilder("#")).toString().substring(1));
+            }
+
+            long ts = rnd.nextLong() >> rnd.nextInt(20);
+            for (String fmt : tsFormats) {
+                HdTimeSpanFormatter formatter = HdTimeSpanFormatter.of(fmt);
+                Assert.assertEquals(HdTimeSpanUtils.toString(ts, fmt), formatter.format(ts));
+                Assert.assertEquals(HdTimeSpanUtils.toString(ts, fmt), formatter.format(ts, new StringBuilder()).toString());
+            }
+        }
+
+        Assert.assertEquals(HdDateTimeUtils.toString(0), HdDateTimeFormatter.DEFAULT.format(0));
+        Assert.assertEquals(HdTimeSpanUtils.toString(-1), HdTimeSpanFormatter.DEFAULT.format(-1));
+    }
+
+    @Test
+    public void testByteFormatting() {
+        String[] formats = { "yyyy-MM-dd HH:mm:ss.fffffffff", "d MMMM yyyy H:m:s.ff", "'\u00E9t\u00E9' yyyy", "'\u20AC' dd.MM" };
+        Random rnd = new Random(2);
+        byte[] bytes = new byte[0x40];
+        ByteBuffer heap = ByteBuffer.allocate(0x100);
+        ByteBuffer direct = ByteBuffer.allocateDirect(0x100);
+        for (int i = 0; i < 1000; ++i) {
+            long dt = HdDateTimeUtils.MIN_VALUE + (long)(rnd.nextDouble() * (HdDateTimeUtils.MAX_VALUE - HdDateTimeUtils.MIN_VALUE));
+            for (String fmt : formats) {
+                String str = HdDateTimeUtils.toString(dt, fmt);
+                Assert.assertEquals(HdDateTimeFormatter.of(fmt).format(dt), str);
+                byte[] expected = str.getBytes(StandardCharsets.ISO_8859_1);
+                int end = HdDateTimeUtils.appendTo(dt, bytes, 3, fmt);
+                Assert.assertEquals(expected.length + 3, end);
+                Assert.assertEquals(str.replace('\u20AC', '?'), new String(bytes, 3, expected.length, StandardCharsets.ISO_8859_1));
+
+                for (ByteBuffer buffer : new ByteBuffer[] { heap, direct }) {
+                    buffer.clear();
+                    buffer.put((byte)'#');
+                    HdDateTimeUtils.appendTo(dt, buffer, fmt).flip();
+                    byte[] actual = new byte[buffer.remaining()];
+                    buffer.get(actual);
+                    Assert.assertEquals("#" + str.replace('\u20AC', '?'), new String(actual, StandardCharsets.ISO_8859_1));
+                }
+            }
+
+            long ts = rnd.nextLong() >> rnd.nextInt(20);
+            String str = HdTimeSpanUtils.toString(ts);
+            int end = HdTimeSpanFormatter.DEFAULT.format(ts, bytes, 0);
+            Assert.assertEquals(str, new String(bytes, 0, end, StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    @Test
+    public void testCharFormatting() {
+        Random rnd = new Random(3);
+        char[] chars = new char[0x40];
+        StringBuilder sb = new StringBuilder();
+        HdDateTimeFormatter formatter = HdDateTimeFormatter.of("'\u20AC' yyyy-MM-dd HH:mm:ss.fff");
+        for (int i = 0; i < 1000; ++i) {
+            long dt = HdDateTimeUtils.MIN_VALUE + (long)(rnd.nextDouble() * (HdDateTimeUtils.MAX_VALUE - HdDateTimeUtils.MIN_VALUE));
+            String str = HdDateTimeUtils.toString(dt);
+            Assert.assertEquals(str.length() + 5, HdDateTimeUtils.appendTo(dt, chars, 5));
+            Assert.assertEquals(str, new String(chars, 5, str.length()));
+            sb.setLength(0);
+            Assert.assertEquals("-" + str, HdDateTimeUtils.appendTo(dt, sb.append('-')).toString());
+            sb.setLength(0);
+            Assert.assertEquals(formatter.format(dt), formatter.format(dt, sb).toString());
+            int end = formatter.format(dt, chars, 0);
+            Assert.assertEquals(formatter.format(dt), new String(chars, 0, end));
+
+            long ts = rnd.nextLong() >> rnd.nextInt(20);
+            str = HdTimeSpanUtils.toString(ts, "d.H:m:s.ffff");
+            sb.setLength(0);
+            Assert.assertEquals(str, new HdTimeSpan(ts).appendTo(sb, "d.H:m:s.ffff").toString());
+            end = HdTimeSpanUtils.appendTo(ts, chars, 1, "d.H:m:s.ffff");
+            Assert.assertEquals(str, new String(chars, 1, end - 1));
+        }
+    }
+
+    @Test
+    public void testIncrementalFormatting() throws Exception {
+        String[] formats = { "yyyy-MM-dd HH:mm:ss.fffffffff", "yyyy-MM-dd'T'HH:mm:ss.ffffff'Z'", "yyyy-MM-dd H:m:s", "ss.fff H" };
+        Random rnd = new Random(4);
+        char[] chars = new char[0x40];
+        byte[] bytes = new byte[0x40];
+        StringBuilder sb = new StringBuilder();
+        for (String fmt : formats) {
+            HdDateTimeFormatter formatter = HdDateTimeFormatter.of(fmt).incremental();
+            Assert.assertTrue(formatter.isIncremental());
+            long dt = HdDateTimeUtils.newInstance(2020, Month.DECEMBER, 31, 23, 59, 58);
+            for (int i = 0; i < 10000; ++i) {
+                // Mostly the same second, sometimes going back or jumping over days
+                int r = rnd.nextInt(100);
+                dt += r < 90 ? rnd.nextInt(1000000) : r < 98 ? -rnd.nextInt(1000000) : rnd.nextLong() % (100 * Convert.NS_IN_DAY);
+                String expected = HdDateTimeUtils.toString(dt, fmt);
+                Assert.assertEquals(expected, formatter.format(dt));
+                sb.setLength(0);
+                Assert.assertEquals(expected, formatter.format(dt, sb).toString());
+                Assert.assertEquals(expected, new String(chars, 0, formatter.format(dt, chars, 0)));
+                Assert.assertEquals(expected, new String(bytes, 0, formatter.format(dt, bytes, 0), StandardCharsets.ISO_8859_1));
+                if (0 == (i & 7)) {
+                    // Overwrites the same buffers
+                    HdTimeSpanUtils.toString(dt, "d HH:mm:ss.fffffffff");
+                    HdDateTimeUtils.appendTo(dt, sb, "yyyy");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIsoTemplates() {
+        String[] fused = { "yyyy-MM-dd HH:mm:ss.fffffffff", "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
+                "yyyy-MM-dd HH:mm:ss.ffffff", "yyyy-MM-dd'T'HH:mm:ss.fffffffff'Z'" };
+        String[] generic = { "yyyy-MM-dd HH:mm:ss.ff", "yyyy-MM-dd'T'HH:mm", "yyyy-MM-dd HH:mm:ss.fff 'UTC'", "yyyy-MM-d HH:mm:ss" };
+        Random rnd = new Random(5);
+        Components components = new Components();
+        char[] expected = new char[0x40], actual = new char[0x40];
+        byte[] bytes = new byte[0x40];
+        for (String fmt : generic)
+            Assert.assertFalse(fmt, Formatters.DateTime.getTemplate(fmt) instanceof IsoFormatTemplate);
+
+        for (String fmt : fused) {
+            Formatters.FormatTemplate template = Formatters.DateTime.getTemplate(fmt);
+            // Fused unless disabled with -Dcom.epam.deltix.hdtime.fusedTemplates=false, the output is compared either way
+            Assert.assertEquals(fmt, IsoFormatTemplate.ENABLED, template instanceof IsoFormatTemplate);
+            Formatters.FormatTemplate loop = new Formatters.FormatTemplate(template.fields);
+            for (int i = 0; i < 1000; ++i) {
+                long dt = HdDateTimeUtils.MIN_VALUE + (long)(rnd.nextDouble() * (HdDateTimeUtils.MAX_VALUE - HdDateTimeUtils.MIN_VALUE));
+                Convert.DateTime.toComponents(dt, components);
+                int start = loop.format(expected, expected.length - 1, components);
+                Assert.assertEquals(start, template.format(actual, actual.length - 1, components));
+                Assert.assertEquals(start, template.format(bytes, bytes.length - 1, components));
+                String str = new String(expected, start + 1, expected.length - start - 1);
+                Assert.assertEquals(str, new String(actual, start + 1, actual.length - start - 1));
+                Assert.assertEquals(str, new String(bytes, start + 1, bytes.length - start - 1, StandardCharsets.ISO_8859_1));
+            }
+        }
+    }
+
+    @Test
+    public void testBatchFormatting() {
+        Random rnd = new Random(8);
+        long[] values = new long[200];
+        long dt = HdDateTimeUtils.newInstance(2021, Month.MARCH, 1);
+        for (int i = 0; i < values.length; ++i)
+            values[i] = i < 100 ? (dt += rnd.nextInt(100000000)) : rnd.nextLong() >> 1;
+
+        char[] chars = new char[0x2000];
+        byte[] bytes = new byte[0x2000];
+        for (String fmt : new String[] { "yyyy-MM-dd HH:mm:ss.fffffffff", "dd/MM/yyyy H:m:s.fff" }) {
+            HdDateTimeFormatter formatter = HdDateTimeFormatter.of(fmt);
+            StringBuilder expected = new StringBuilder();
+            for (int i = 1; i < values.length; ++i)
+                expected.append(1 == i ? "" : ";").append(HdDateTimeUtils.toString(values[i], fmt));
+
+            expected.append("\r\n");
+            int end = formatter.format(values, 1, values.length - 1, ";", "\r\n", chars, 2);
+            Assert.assertEquals(expected.toString(), new String(chars, 2, end - 2));
+            end = formatter.format(values, 1, values.length - 1, ";", "\r\n", bytes, 0);
+            Assert.assertEquals(expected.toString(), new String(bytes, 0, end, StandardCharsets.ISO_8859_1));
+            Assert.assertEquals(expected.toString(),
+                    formatter.format(values, 1, values.length - 1, ";", "\r\n", new StringBuilder()).toString());
+        }
+
+        StringBuilder expected = new StringBuilder();
+        for (long value : values)
+            expected.append(HdTimeSpanUtils.toString(value)).append('\n');
+
+        Assert.assertEquals(expected.toString(),
+                HdTimeSpanFormatter.DEFAULT.format(values, 0, values.length, "\n", "\n", new StringBuilder()).toString());
+        int end = HdTimeSpanFormatter.DEFAULT.format(values, 0, values.length, "\n", "\n", bytes, 0);
+        Assert.assertEquals(expected.toString(), new String(bytes, 0, end, StandardCharsets.ISO_8859_1));
+        end = HdTimeSpanFormatter.DEFAULT.format(values, 0, values.length, "\n", "\n", chars, 0);
+        Assert.assertEquals(expected.toString(), new String(chars, 0, end));
+        Assert.assertEquals("[]", HdDateTimeFormatter.DEFAULT.format(values, 0, 0, ",", "]", new StringBuilder("[")).toString());
+    }
 }
\ No newline at end of file
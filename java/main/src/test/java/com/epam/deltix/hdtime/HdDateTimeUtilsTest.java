@@ -19,10 +19,24 @@
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.Month;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
 import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
 
 public class HdDateTimeUtilsTest {
     @Test
@@ -54,6 +68,238 @@ public class HdDateTimeUtilsTest {
         }
     }
 
+    @Test
+    public void testDateGettersVsCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        Random rnd = new Random(System.currentTimeMillis());
+        for (long dt = HdDateTimeUtils.MIN_VALUE; dt <= HdDateTimeUtils.MAX_VALUE; dt += Convert.NS_IN_DAY) {
+            // Random time of day, to also check rounding towards MIN_VALUE
+            long value = dt + (long)(rnd.nextDouble() * Convert.NS_IN_DAY);
+            calendar.setTimeInMillis(Math.floorDiv(value, Convert.NS_IN_MILLISECOND));
+            Assert.assertEquals(calendar.get(Calendar.YEAR), HdDateTimeUtils.getYear(value));
+            Assert.assertEquals(calendar.get(Calendar.MONTH) + 1, HdDateTimeUtils.getMonth(value).getValue());
+            Assert.assertEquals(calendar.get(Calendar.DAY_OF_MONTH), HdDateTimeUtils.getDayOfMonth(value));
+            Assert.assertEquals(calendar.get(Calendar.DAY_OF_YEAR), HdDateTimeUtils.getDayOfYear(value));
+            Assert.assertEquals(Convert.DateTime.toDayOfWeek[calendar.get(Calendar.DAY_OF_WEEK) - 1],
+                    HdDateTimeUtils.getDayOfWeek(value));
+        }
+    }
+
+    @Test
+    public void testDaysInMonthYear() {
+        int n = Convert.DateTime.toEpochDays(HdDateTimeUtils.MAX_VALUE) - Convert.DateTime.toEpochDays(HdDateTimeUtils.MIN_VALUE) + 1;
+        long[] values = new long[n + 1];
+        for (int i = 0; i < n; ++i) {
+            long dt = HdDateTimeUtils.MIN_VALUE + i * Convert.NS_IN_DAY + Convert.NS_IN_DAY - 1;
+            LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(dt, Convert.NS_IN_DAY));
+            Assert.assertEquals(date.lengthOfMonth(), HdDateTimeUtils.getDaysInMonth(dt));
+            Assert.assertEquals(date.lengthOfYear(), HdDateTimeUtils.getDaysInYear(dt));
+            Assert.assertEquals(date.isLeapYear(), HdDateTimeUtils.isLeapYear(dt));
+            values[i + 1] = dt;
+        }
+
+        int[] daysInMonth = new int[n];
+        int[] daysInYear = new int[n];
+        boolean[] isLeapYear = new boolean[n];
+        HdDateTimeUtils.getDaysInMonth(values, 1, daysInMonth, 0, n);
+        HdDateTimeUtils.getDaysInYear(values, 1, daysInYear, 0, n);
+        HdDateTimeUtils.isLeapYear(values, 1, isLeapYear, 0, n);
+        for (int i = 0; i < n; ++i) {
+            Assert.assertEquals(HdDateTimeUtils.getDaysInMonth(values[i + 1]), daysInMonth[i]);
+            Assert.assertEquals(HdDateTimeUtils.getDaysInYear(values[i + 1]), daysInYear[i]);
+            Assert.assertEquals(HdDateTimeUtils.isLeapYear(values[i + 1]), isLeapYear[i]);
+        }
+    }
+
+    @Test
+    public void testIsoWeeksVsLocalDate() {
+        Random rnd = new Random(System.currentTimeMillis());
+        // Skip the first week, it starts before MIN_VALUE
+        for (long dt = HdDateTimeUtils.MIN_VALUE + 7 * Convert.NS_IN_DAY; dt <= HdDateTimeUtils.MAX_VALUE; dt += Convert.NS_IN_DAY) {
+            long value = dt + (long)(rnd.nextDouble() * Convert.NS_IN_DAY);
+            LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(value, Convert.NS_IN_DAY));
+            int week = date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            Assert.assertEquals(week, HdDateTimeUtils.getIsoWeekOfYear(value));
+            Assert.assertEquals(date.get(IsoFields.WEEK_BASED_YEAR), HdDateTimeUtils.getIsoWeekBasedYear(value));
+            Assert.assertEquals(date.get(WeekFields.ISO.weekOfMonth()), HdDateTimeUtils.getIsoWeekOfMonth(value));
+            Assert.assertEquals(date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay() * Convert.NS_IN_DAY,
+                    HdDateTimeUtils.roundToIsoWeek(value));
+
+            int newWeek = 1 + rnd.nextInt((int)date.range(IsoFields.WEEK_OF_WEEK_BASED_YEAR).getMaximum());
+            LocalDate newDate = date.with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, newWeek);
+            if (newDate.toEpochDay() <= Convert.DateTime.toEpochDays(HdDateTimeUtils.MAX_VALUE))
+                Assert.assertEquals(newDate.toEpochDay() * Convert.NS_IN_DAY + Convert.DateTime.extractTimeOfDay(value),
+                        HdDateTimeUtils.setIsoWeekOfYear(value, newWeek));
+        }
+
+        long dt = HdDateTimeUtils.newInstance(2020, Month.DECEMBER, 31, 12, 0, 0);
+        Assert.assertEquals(53, HdDateTimeUtils.getIsoWeekOfYear(dt));
+        Assert.assertEquals(HdDateTimeUtils.newInstance(2020, Month.JANUARY, 2, 12, 0, 0), HdDateTimeUtils.setIsoWeekOfYear(dt, 1));
+        expectRangeError(() -> HdDateTimeUtils.setIsoWeekOfYear(dt, 0));
+        expectRangeError(() -> HdDateTimeUtils.setIsoWeekOfYear(HdDateTimeUtils.newInstance(2021, Month.JUNE, 1), 53));
+        expectRangeError(() -> HdDateTimeUtils.roundToIsoWeek(HdDateTimeUtils.MIN_VALUE));
+    }
+
+    @Test
+    public void testToComponents() {
+        Random rnd = new Random(System.currentTimeMillis());
+        int n = 100_000;
+        long[] values = new long[n + 2];
+        // Mostly ascending with occasional jumps back and forth, crossing 1970 to also check negative values
+        long dt = HdDateTimeUtils.newInstance(1969, Month.DECEMBER, 1);
+        for (int i = 0; i < values.length; ++i) {
+            dt += rnd.nextInt(20) == 0 ? (long)((rnd.nextDouble() - 0.4) * 30 * Convert.NS_IN_DAY)
+                    : (long)(rnd.nextDouble() * Convert.NS_IN_HOUR);
+            values[i] = dt;
+        }
+
+        values[1] = HdDateTimeUtils.MIN_VALUE;
+        values[2] = HdDateTimeUtils.MAX_VALUE;
+        int[][] columns = new int[7][n + 3];
+        HdDateTimeUtils.toComponents(values, 1, n, columns[0], columns[1], columns[2], columns[3], columns[4],
+                columns[5], columns[6], 3);
+
+        int[] components = new int[9];
+        for (int i = 0; i < n; ++i) {
+            long value = values[i + 1];
+            HdDateTimeUtils.toComponents(value, components, 2);
+            int[] expected = {
+                    HdDateTimeUtils.getYear(value), HdDateTimeUtils.getMonth(value).getValue(),
+                    HdDateTimeUtils.getDayOfMonth(value), HdDateTimeUtils.getHour(value), HdDateTimeUtils.getMinute(value),
+                    HdDateTimeUtils.getSecond(value), HdDateTimeUtils.getNanosecond(value)
+            };
+
+            for (int j = 0; j < expected.length; ++j) {
+                Assert.assertEquals(expected[j], components[j + 2]);
+                Assert.assertEquals(expected[j], columns[j][i + 3]);
+            }
+        }
+
+        // Null columns are skipped
+        int[] hours = new int[n];
+        HdDateTimeUtils.toComponents(values, 1, n, null, null, null, hours, null, null, null, 0);
+        for (int i = 0; i < n; ++i)
+            Assert.assertEquals(columns[3][i + 3], hours[i]);
+    }
+
+    @Test
+    public void testNewInstanceVsCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        for (long dt = HdDateTimeUtils.MIN_VALUE; dt <= HdDateTimeUtils.MAX_VALUE; dt += Convert.NS_IN_DAY) {
+            calendar.setTimeInMillis(dt / Convert.NS_IN_MILLISECOND);
+            Assert.assertEquals(dt, HdDateTimeUtils.newInstance(calendar.get(Calendar.YEAR),
+                    Month.of(calendar.get(Calendar.MONTH) + 1), calendar.get(Calendar.DAY_OF_MONTH)));
+        }
+    }
+
+    @Test
+    public void testNewInstanceValidation() {
+        Assert.assertEquals(HdDateTimeUtils.MIN_VALUE, HdDateTimeUtils.newInstance(1678, Month.JANUARY, 1));
+        Assert.assertEquals(HdDateTimeUtils.MAX_VALUE,
+                HdDateTimeUtils.newInstance(2261, Month.DECEMBER, 31, 23, 59, 59, 999_999_999));
+        HdDateTimeUtils.newInstance(2000, Month.FEBRUARY, 29);
+
+        expectRangeError(() -> HdDateTimeUtils.newInstance(1677, Month.DECEMBER, 31));
+        expectRangeError(() -> HdDateTimeUtils.newInstance(2262, Month.JANUARY, 1));
+        expectRangeError(() -> HdDateTimeUtils.newInstance(1900, Month.FEBRUARY, 29));
+        expectRangeError(() -> HdDateTimeUtils.newInstance(2001, Month.APRIL, 31));
+        expectRangeError(() -> HdDateTimeUtils.newInstance(2001, Month.APRIL, 0));
+        expectRangeError(() -> Convert.DateTime.from(2001, 13, 1));
+        expectRangeError(() -> Convert.DateTime.from(2001, 0, 1));
+    }
+
+    @Test
+    public void testAddMonthsVsCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        Random rnd = new Random(System.currentTimeMillis());
+        for (int i = 0; i < 1_000_000; ++i) {
+            // Keep the result within 1700..2200, day of month 28..31 to hit end of month clamping more often
+            long dt = HdDateTimeUtils.newInstance(1750 + rnd.nextInt(400), Month.of(1 + rnd.nextInt(12)), 1)
+                    + (27 + rnd.nextInt(4)) * Convert.NS_IN_DAY + (long)(rnd.nextDouble() * Convert.NS_IN_DAY);
+            int months = rnd.nextInt(1200) - 600;
+            int years = months / 12;
+            long millis = Math.floorDiv(dt, Convert.NS_IN_MILLISECOND);
+            long nanos = dt - millis * Convert.NS_IN_MILLISECOND;
+
+            calendar.setTimeInMillis(millis);
+            calendar.add(Calendar.MONTH, months);
+            Assert.assertEquals(calendar.getTimeInMillis() * Convert.NS_IN_MILLISECOND + nanos,
+                    HdDateTimeUtils.addMonths(dt, months));
+
+            calendar.setTimeInMillis(millis);
+            calendar.add(Calendar.YEAR, years);
+            Assert.assertEquals(calendar.getTimeInMillis() * Convert.NS_IN_MILLISECOND + nanos,
+                    HdDateTimeUtils.addYears(dt, years));
+        }
+
+        Assert.assertEquals(HdDateTimeUtils.newInstance(2001, Month.FEBRUARY, 28, 12, 0, 0),
+                HdDateTimeUtils.addYears(HdDateTimeUtils.newInstance(2000, Month.FEBRUARY, 29, 12, 0, 0), 1));
+        Assert.assertEquals(HdDateTimeUtils.newInstance(2000, Month.FEBRUARY, 29),
+                HdDateTimeUtils.addMonths(HdDateTimeUtils.newInstance(1999, Month.DECEMBER, 31), 2));
+        Assert.assertEquals(HdDateTimeUtils.MIN_VALUE,
+                HdDateTimeUtils.addMonths(HdDateTimeUtils.newInstance(2261, Month.JANUARY, 1), -583 * 12));
+        expectRangeError(() -> HdDateTimeUtils.addMonths(HdDateTimeUtils.MIN_VALUE, -1));
+        expectRangeError(() -> HdDateTimeUtils.addYears(HdDateTimeUtils.MAX_VALUE, 1));
+        expectRangeError(() -> HdDateTimeUtils.addMonths(HdDateTimeUtils.MAX_VALUE, Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testDateSettersVsCalendar() {
+        // Same locale as used by the library for week numbering
+        GregorianCalendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"), Locale.getDefault(Locale.Category.FORMAT));
+        Random rnd = new Random(System.currentTimeMillis());
+        for (int i = 0; i < 1_000_000; ++i) {
+            long dt = HdDateTimeUtils.newInstance(1700 + rnd.nextInt(500), Month.JANUARY, 1)
+                    + (long)(rnd.nextDouble() * 366 * Convert.NS_IN_DAY);
+            long millis = Math.floorDiv(dt, Convert.NS_IN_MILLISECOND);
+            long nanos = dt - millis * Convert.NS_IN_MILLISECOND;
+
+            calendar.setTimeInMillis(millis);
+            Assert.assertEquals(calendar.get(Calendar.WEEK_OF_YEAR), HdDateTimeUtils.getWeekOfYear(dt));
+            Assert.assertEquals(calendar.get(Calendar.WEEK_OF_MONTH), HdDateTimeUtils.getWeekOfMonth(dt));
+
+            int year = 1700 + rnd.nextInt(500);
+            int month = rnd.nextInt(12);
+            int week = rnd.nextInt(55) - 1;
+            int dayOfYear = rnd.nextInt(368) - 1;
+            int day = rnd.nextInt(33) - 1;
+            DayOfWeek dayOfWeek = DayOfWeek.of(1 + rnd.nextInt(7));
+
+            Assert.assertEquals(setViaCalendar(calendar, millis, Calendar.YEAR, year) + nanos,
+                    HdDateTimeUtils.setYear(dt, year));
+            Assert.assertEquals(setViaCalendar(calendar, millis, Calendar.MONTH, month) + nanos,
+                    HdDateTimeUtils.setMonth(dt, Month.of(month + 1)));
+            Assert.assertEquals(setViaCalendar(calendar, millis, Calendar.WEEK_OF_YEAR, week) + nanos,
+                    HdDateTimeUtils.setWeekOfYear(dt, week));
+            Assert.assertEquals(setViaCalendar(calendar, millis, Calendar.WEEK_OF_MONTH, week % 7) + nanos,
+                    HdDateTimeUtils.setWeekOfMonth(dt, week % 7));
+            Assert.assertEquals(setViaCalendar(calendar, millis, Calendar.DAY_OF_YEAR, dayOfYear) + nanos,
+                    HdDateTimeUtils.setDayOfYear(dt, dayOfYear));
+            Assert.assertEquals(setViaCalendar(calendar, millis, Calendar.DAY_OF_MONTH, day) + nanos,
+                    HdDateTimeUtils.setDayOfMonth(dt, day));
+            Assert.assertEquals(setViaCalendar(calendar, millis, Calendar.DAY_OF_WEEK,
+                    Convert.DateTime.fromDayOfWeek[dayOfWeek.getValue() - 1]) + nanos,
+                    HdDateTimeUtils.setDayOfWeek(dt, dayOfWeek));
+        }
+    }
+
+    private static long setViaCalendar(GregorianCalendar calendar, long millis, int field, int value) {
+        calendar.setTimeInMillis(millis);
+        calendar.set(field, value);
+        return calendar.getTimeInMillis() * Convert.NS_IN_MILLISECOND;
+    }
+
+    private static void expectRangeError(Runnable f) {
+        try {
+            f.run();
+        }
+        catch (IllegalArgumentException e) {
+            return;
+        }
+
+        Assert.fail("Was expected to throw");
+    }
+
     @Test
     public void testMonthImpl() {
         Assert.assertEquals(Calendar.JANUARY, Month.JANUARY.getValue() - 1);
@@ -89,6 +335,379 @@ public class HdDateTimeUtilsTest {
         Assert.assertEquals(DayOfWeek.SATURDAY, Convert.DateTime.toDayOfWeek[Calendar.SATURDAY - 1]);
     }
 
+    @Test
+    public void testByteParsing() throws Exception {
+        long dt = dateTime(2019, Month.OCTOBER, 31, 23, 59, 58, 123456789);
+        String fmt = "yyyy-MM-dd'T'HH:mm:ss.fffffffff";
+        byte[] text = ("xx" + HdDateTimeUtils.toString(dt, fmt) + ",next").getBytes(StandardCharsets.ISO_8859_1);
+        int length = text.length - 2;
+
+        ParsePosition end = new ParsePosition(0);
+        Assert.assertEquals(dt, HdDateTimeUtils.parse(text, 2, length, fmt, end));
+        Assert.assertEquals(',', text[end.getIndex()]);
+        Assert.assertEquals(HdDateTimeUtils.getDate(dt), HdDateTimeUtils.parse(text, 2, 10, "yyyy-MM-dd"));
+
+        // Heap, read-only and direct buffers
+        ByteBuffer heap = ByteBuffer.wrap(text, 2, length);
+        ByteBuffer direct = ByteBuffer.allocateDirect(text.length);
+        direct.put(text).position(2);
+        for (ByteBuffer buffer : new ByteBuffer[] { heap.slice(), heap.asReadOnlyBuffer(), direct }) {
+            int position = buffer.position();
+            Assert.assertEquals(dt, HdDateTimeUtils.parse(buffer, fmt));
+            Assert.assertEquals(position + end.getIndex() - 2, buffer.position());
+        }
+
+        // Errors, including reads past the end, leave the buffer unchanged
+        heap = ByteBuffer.wrap(text, 2, 12);
+        try {
+            HdDateTimeUtils.parse(heap, fmt);
+            Assert.fail();
+        } catch (ParseException | IndexOutOfBoundsException e) {
+            Assert.assertEquals(2, heap.position());
+        }
+
+        try {
+            HdDateTimeUtils.parse(text, 0, length, fmt);
+            Assert.fail();
+        } catch (ParseException e) {
+        }
+
+        // Off-heap, the memory of the direct buffer
+        long address = address(direct);
+        Assert.assertEquals(dt, HdDateTimeUtils.parseOffHeap(address + 2, length, fmt, end));
+        Assert.assertEquals(length - 5, end.getIndex());
+        // Also keeps the buffer, that owns the memory, reachable until here
+        Assert.assertEquals(text.length, direct.capacity());
+
+        // Time spans
+        long ts = HdTimeSpanUtils.newInstance(-3, 4, 5, 6, 7000);
+        text = HdTimeSpanUtils.toString(ts).getBytes(StandardCharsets.ISO_8859_1);
+        Assert.assertEquals(ts, HdTimeSpanUtils.parse(text, 0, text.length));
+        Assert.assertEquals(ts, HdTimeSpanUtils.parse(ByteBuffer.wrap(text)));
+    }
+
+    @Test
+    public void testTryParse() {
+        long dt = dateTime(2019, Month.OCTOBER, 31, 23, 59, 58, 123000000);
+        String fmt = "yyyy-MM-dd HH:mm:ss.fff";
+        Assert.assertEquals(dt, HdDateTimeUtils.tryParse("2019-10-31 23:59:58.123", fmt));
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, HdDateTimeUtils.tryParse("2019-10-31 23:5x:58.123", fmt));
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, HdDateTimeUtils.tryParse("2019-10-31 23:59", fmt));
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, HdDateTimeUtils.tryParse("2019-02-30 23:59:58.123", fmt));
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, HdDateTimeUtils.tryParse(""));
+
+        ParsePosition pos = new ParsePosition(4);
+        String text = "id: 2019-10-31 23:59:58.123;2019-10-31 23:59:58.1x3";
+        Assert.assertEquals(dt, HdDateTimeUtils.tryParse(text, fmt, pos));
+        Assert.assertEquals(27, pos.getIndex());
+        Assert.assertEquals(-1, pos.getErrorIndex());
+
+        pos.setIndex(28);
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, HdDateTimeUtils.tryParse(text, fmt, pos));
+        Assert.assertEquals(28, pos.getIndex());
+        Assert.assertEquals(text.length() - 2, pos.getErrorIndex());
+
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        Assert.assertEquals(dt, HdDateTimeUtils.tryParse(bytes, 4, 23, fmt));
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, HdDateTimeUtils.tryParse(bytes, 4, 20, fmt));
+
+        // Parse still throws, and is not affected by the preceding errors
+        try {
+            HdDateTimeUtils.parse("2019-10-31 23:59", fmt);
+            Assert.fail();
+        } catch (ParseException e) {
+            Assert.assertTrue(e.getMessage().contains("2019-10-31 23:59"));
+        }
+
+        Assert.assertEquals(HdTimeSpanUtils.newInstance(1, 2, 3, 4), HdTimeSpanUtils.tryParse("1 02:03:04.000000000"));
+        Assert.assertEquals(HdTimeSpanUtils.NULL_VALUE, HdTimeSpanUtils.tryParse("1 02:03:0x"));
+    }
+
+    @Test
+    public void testParseInvalidDate() throws Exception {
+        // Out of range components are rejected with ParseException at the start of the date, not rolled over
+        String[] texts = { "2021-13-01", "2021-02-29", "2021-04-31", "2021-00-10", "2021-01-00" };
+        for (String text : texts) {
+            try {
+                HdDateTimeUtils.parse(text, "yyyy-MM-dd");
+                Assert.fail(text);
+            } catch (ParseException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("'[" + text + "]'"));
+            }
+        }
+
+        String text = "at 2021-02-30 12:00";
+        String fmt = "'at 'yyyy-MM-dd HH:mm";
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Callable<?>[] parses = {
+                () -> HdDateTimeUtils.parse(text, fmt),
+                () -> HdDateTimeParser.of(fmt).parse(text),
+                () -> HdDateTimeUtils.parse(bytes, 0, bytes.length, fmt),
+                () -> HdDateTimeUtils.parse(buffer, fmt)
+        };
+
+        for (Callable<?> parse : parses) {
+            try {
+                parse.call();
+                Assert.fail();
+            } catch (ParseException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("'at [2021-02-30 12:00]'"));
+            }
+        }
+
+        Assert.assertEquals(0, buffer.position());
+
+        ParsePosition pos = new ParsePosition(0);
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, HdDateTimeUtils.tryParse(text, fmt, pos));
+        Assert.assertEquals(3, pos.getErrorIndex());
+    }
+
+    @Test
+    public void testParseColumn() throws Exception {
+        String fmt = "yyyy-MM-dd HH:mm:ss.fff";
+        Random rnd = new Random(11);
+        long[] expected = new long[1000];
+        StringBuilder sb = new StringBuilder();
+        long dt = dateTime(2020, Month.FEBRUARY, 28, 0, 0, 0, 0);
+        for (int i = 0; i < expected.length; ++i) {
+            // Mostly the same date, sometimes empty
+            expected[i] = 0 == i % 97 ? HdDateTimeUtils.NULL_VALUE : (dt += rnd.nextInt(1000) * 1000000000L);
+            // '\r' of CRLF line ends is ignored
+            if (HdDateTimeUtils.NULL_VALUE != expected[i])
+                HdDateTimeUtils.appendTo(expected[i], sb, fmt).append(0 == i % 3 ? "\r" : "");
+
+            sb.append('\n');
+        }
+
+        String text = sb.toString();
+        ParsePosition pos = new ParsePosition(0);
+        long[] actual = new long[expected.length + 2];
+        Assert.assertEquals(expected.length, HdDateTimeUtils.parseColumn(text, 0, text.length(), '\n', fmt, actual, 2, pos));
+        Assert.assertArrayEquals(expected, Arrays.copyOfRange(actual, 2, actual.length));
+        Assert.assertEquals(text.length(), pos.getIndex());
+        Assert.assertEquals(-1, pos.getErrorIndex());
+
+        Arrays.fill(actual, 0);
+        Assert.assertEquals(expected.length, HdDateTimeUtils.parseColumn(text.toCharArray(), 0, text.length(), '\n', fmt, actual, 0, null));
+        Assert.assertArrayEquals(expected, Arrays.copyOf(actual, expected.length));
+
+        Arrays.fill(actual, 0);
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        Assert.assertEquals(expected.length, HdDateTimeUtils.parseColumn(bytes, 0, bytes.length, '\n', fmt, actual, 0, pos));
+        Assert.assertArrayEquals(expected, Arrays.copyOf(actual, expected.length));
+
+        // Output is full
+        Assert.assertEquals(3, HdDateTimeUtils.parseColumn(text, 0, text.length(), '\n', fmt, new long[3], 0, pos));
+        Assert.assertEquals(-1, pos.getErrorIndex());
+        Assert.assertEquals(expected[3], HdDateTimeUtils.parse(text.substring(pos.getIndex()), fmt));
+
+        // Malformed values: bad digit, too short, invalid date
+        text = "2020-01-01 00:00:00.000,2020-01-01 00:00:00.001,2020-01-01 00:x0:00.002";
+        Assert.assertEquals(2, HdDateTimeUtils.parseColumn(text, 0, text.length(), ',', fmt, actual, 0, pos));
+        Assert.assertEquals(48, pos.getIndex());
+        Assert.assertEquals(62, pos.getErrorIndex());
+
+        text = "2020-01-01 00:00:00.000;2020-01-01 00:00:00;2020-01-01 00:00:00.002";
+        Assert.assertEquals(1, HdDateTimeUtils.parseColumn(text, 0, text.length(), ';', fmt, actual, 0, pos));
+        Assert.assertEquals(24, pos.getIndex());
+        Assert.assertTrue(pos.getErrorIndex() >= 43);
+
+        text = "2020-02-29 00:00:00.000\n2021-02-29 00:00:00.000";
+        Assert.assertEquals(1, HdDateTimeUtils.parseColumn(text, 0, text.length(), '\n', fmt, actual, 0, pos));
+        Assert.assertEquals(24, pos.getErrorIndex());
+
+        // Trailing characters, not consumed by the template
+        text = "2021-03-04 05:06:07\n2021-03-04 05:06:07junk\n\n2021-03-04 05:06:08";
+        Assert.assertEquals(1, HdDateTimeUtils.parseColumn(text, 0, text.length(), '\n', "yyyy-MM-dd HH:mm:ss", actual, 0, pos));
+        Assert.assertEquals(20, pos.getIndex());
+        Assert.assertEquals(39, pos.getErrorIndex());
+
+        text = "1 02:03:04.000000000|-0 00:00:01.500000000|";
+        Assert.assertEquals(2, HdTimeSpanUtils.parseColumn(text, 0, text.length(), '|', HdTimeSpanUtils.DEFAULT_FORMAT, actual, 0, null));
+        Assert.assertEquals(HdTimeSpanUtils.newInstance(1, 2, 3, 4), actual[0]);
+        Assert.assertEquals(-1500000000L, actual[1]);
+    }
+
+    @Test
+    public void testPrecompiledParsers() throws Exception {
+        final String[] formats = { "yyyy-MM-dd HH:mm:ss.fffffffff", "yyyyMMdd'T'HHmmss.fff", "dd/MM/yyyy H:m:s" };
+        final HdDateTimeParser[] parsers = new HdDateTimeParser[formats.length];
+        for (int i = 0; i < formats.length; ++i)
+            parsers[i] = HdDateTimeParser.of(formats[i]);
+
+        Assert.assertEquals(HdDateTimeUtils.DEFAULT_FORMAT, HdDateTimeParser.DEFAULT.getFormat());
+        Assert.assertEquals(HdTimeSpanUtils.newInstance(1, 2, 3, 4),
+                HdTimeSpanParser.DEFAULT.parse(HdTimeSpanUtils.toString(HdTimeSpanUtils.newInstance(1, 2, 3, 4))));
+        Assert.assertEquals(HdTimeSpanUtils.NULL_VALUE, HdTimeSpanParser.of("HH:mm").tryParse("1x:00"));
+
+        // Shared parsers, each thread with its own state
+        final Throwable[] errors = new Throwable[4];
+        Thread[] threads = new Thread[errors.length];
+        for (int t = 0; t < threads.length; ++t) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    ParseState state = new ParseState();
+                    ParsePosition pos = new ParsePosition(0);
+                    Random rnd = new Random(id);
+                    for (int i = 0; i < 2000; ++i) {
+                        long dt = HdDateTimeUtils.newInstance(1970 + rnd.nextInt(200), Month.of(1 + rnd.nextInt(12)),
+                                1 + rnd.nextInt(28), rnd.nextInt(24), rnd.nextInt(60), rnd.nextInt(60), rnd.nextInt(1000000000));
+                        for (int j = 0; j < formats.length; ++j) {
+                            String text = HdDateTimeUtils.toString(dt, formats[j]);
+                            long expected = HdDateTimeUtils.parse(text, formats[j]);
+                            Assert.assertEquals(expected, parsers[j].parse(text, state));
+                            Assert.assertEquals(expected, parsers[j].parse(text, null));
+                            byte[] bytes = ("#" + text).getBytes(StandardCharsets.ISO_8859_1);
+                            Assert.assertEquals(expected, parsers[j].parse(bytes, 1, text.length(), pos, state));
+                            Assert.assertEquals(bytes.length, pos.getIndex());
+                            Assert.assertEquals(expected, parsers[j].tryParse(bytes, 1, text.length(), state));
+                            Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, parsers[j].tryParse(text.substring(0, 7), null, state));
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors[id] = e;
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        for (Throwable e : errors)
+            if (null != e)
+                throw new AssertionError(e);
+
+        String text = "2020-01-01 00:00:00.000000000\n\n2020-01-02 00:00:00.000000000\n";
+        long[] values = new long[3];
+        ParsePosition pos = new ParsePosition(0);
+        Assert.assertEquals(3, parsers[0].parseColumn(text, 0, text.length(), '\n', values, 0, pos, new ParseState()));
+        Assert.assertEquals(-1, pos.getErrorIndex());
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, values[1]);
+        Assert.assertEquals(HdDateTimeUtils.newInstance(2020, Month.JANUARY, 2), values[2]);
+    }
+
+    @Test
+    public void testLastParsedDate() throws Exception {
+        // The same date, then the next day, then an invalid date and back, all with the same state
+        HdDateTimeParser parser = HdDateTimeParser.of("yyyy-MM-dd HH:mm:ss");
+        ParseState state = new ParseState();
+        String[] texts = { "2020-02-28 23:59:58", "2020-02-28 23:59:59", "2020-02-29 00:00:00", "2020-02-29 00:00:01" };
+        for (String text : texts)
+            Assert.assertEquals(HdDateTimeUtils.parse(text, "yyyy-MM-dd HH:mm:ss"), parser.parse(text, state));
+
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, parser.tryParse("2021-02-29 00:00:00", null, state));
+        try {
+            parser.parse("2021-02-29 00:00:00", state);
+            Assert.fail();
+        } catch (ParseException e) {
+            // Expected
+        }
+
+        Assert.assertEquals(HdDateTimeUtils.newInstance(2020, Month.FEBRUARY, 29, 0, 0, 2),
+                parser.parse("2020-02-29 00:00:02", state));
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, parser.tryParse("0000-00-00 00:00:00", null, state));
+    }
+
+    @Test
+    public void testMultiFormatParser() throws Exception {
+        String[] formats = { "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss.fffffffff", "yyyyMMdd-HH:mm:ss.fff",
+                "yyyy-MM-dd", "yyyy-MM-dd'T'HH:mm:ss.fff" };
+        HdDateTimeMultiParser parser = HdDateTimeMultiParser.of(formats);
+        Assert.assertEquals(formats.length, parser.getFormatCount());
+        ParseState state = new ParseState();
+        Random rnd = new Random(25);
+        for (int i = 0; i < 1000; ++i) {
+            long dt = HdDateTimeUtils.newInstance(1970 + rnd.nextInt(200), Month.of(1 + rnd.nextInt(12)),
+                    1 + rnd.nextInt(28), rnd.nextInt(24), rnd.nextInt(60), rnd.nextInt(60), rnd.nextInt(1000000000));
+            int j = rnd.nextInt(formats.length);
+            String text = HdDateTimeUtils.toString(dt, formats[j]);
+            long expected = HdDateTimeUtils.parse(text, formats[j]);
+            Assert.assertEquals(text, expected, parser.parse(text, state));
+            Assert.assertEquals(text, j, parser.getMatchedFormat(state));
+            Assert.assertEquals(text, expected, parser.tryParse(text, null, null));
+            Assert.assertEquals(text, j, parser.getMatchedFormat(null));
+            byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+            Assert.assertEquals(text, expected, parser.tryParse(bytes, 0, bytes.length, state));
+        }
+
+        // Position, trailing text and errors
+        ParsePosition pos = new ParsePosition(3);
+        String text = "ts=2020-01-02 03:04:05,price=1";
+        Assert.assertEquals(HdDateTimeUtils.newInstance(2020, Month.JANUARY, 2, 3, 4, 5), parser.tryParse(text, pos, state));
+        Assert.assertEquals(0, parser.getMatchedFormat(state));
+        Assert.assertEquals(22, pos.getIndex());
+
+        pos.setIndex(1);
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, parser.tryParse("#2020-01-0x 03:04:05", pos, state));
+        Assert.assertEquals(-1, parser.getMatchedFormat(state));
+        Assert.assertEquals(1, pos.getIndex());
+        Assert.assertEquals(10, pos.getErrorIndex());
+        // yyyy-MM-dd matches the prefix, the end is reported by the position
+        pos.setIndex(0);
+        Assert.assertEquals(HdDateTimeUtils.newInstance(2020, Month.JANUARY, 2), parser.tryParse("2020-01-02 03:04", pos, state));
+        Assert.assertEquals(3, parser.getMatchedFormat(state));
+        Assert.assertEquals(10, pos.getIndex());
+        // Without a position, the whole text must match
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, parser.tryParse("2020-01-02 03:04", null, state));
+        Assert.assertEquals(-1, parser.getMatchedFormat(state));
+        byte[] partial = "2020-01-02 03:04:05.1".getBytes(StandardCharsets.ISO_8859_1);
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, parser.tryParse(partial, 0, partial.length, state));
+        HdDateTimeMultiParser prefixes = HdDateTimeMultiParser.of("yyyy-MM-dd HH:mm:ss.fff", "yyyy-MM-dd HH:mm:ss",
+                "yyyyMMdd-HH:mm:ss.fff", "yyyy-MM-dd");
+        for (String truncated : new String[] { "2021-03-04 05:06:07.12", "2021-03-04 05:0", "2021-03-04 05:06:07 " }) {
+            try {
+                prefixes.parse(truncated, state);
+                Assert.fail(truncated);
+            } catch (ParseException e) {
+                Assert.assertEquals(-1, prefixes.getMatchedFormat(state));
+            }
+        }
+
+        Assert.assertEquals(HdDateTimeUtils.newInstance(2021, Month.MARCH, 4, 5, 6, 7, 120000000),
+                prefixes.parse("2021-03-04 05:06:07.120", state));
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, parser.tryParse("2021-02-29", null, state));
+        // An out of range day is reported at the start of the date, not where the longer formats stopped
+        pos.setIndex(3);
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, parser.tryParse("ts=2021-02-30 03:04", pos, state));
+        Assert.assertEquals(3, pos.getErrorIndex());
+        try {
+            parser.parse("2021-04-31 03:04:05.123", state);
+            Assert.fail();
+        } catch (ParseException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("'[2021-04-31 03:04:05.123]'"));
+        }
+
+        pos.setIndex(0);
+        Assert.assertEquals(HdDateTimeUtils.NULL_VALUE, HdDateTimeMultiParser.of("'d='dd/MM/yyyy HH:mm")
+                .tryParse("d=31/06/2021 10:00", pos, state));
+        Assert.assertEquals(2, pos.getErrorIndex());
+        try {
+            parser.parse("20200102-03:04:05.1x3", state);
+            Assert.fail();
+        } catch (ParseException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("[x3]"));
+        }
+
+        // Fraction fields of different lengths are different branches
+        parser = HdDateTimeMultiParser.of("yyyy-MM-dd HH:mm:ss.fff", "yyyy-MM-dd HH:mm:ss.ffffff");
+        Assert.assertEquals(123456000L, parser.parse("1970-01-01 00:00:00.123456", state));
+        Assert.assertEquals(1, parser.getMatchedFormat(state));
+    }
+
+    // Memory address of a direct buffer. Unsafe is looked up reflectively, so that the test compiles without it
+    static long address(ByteBuffer direct) throws ReflectiveOperationException {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field f = unsafeClass.getDeclaredField("theUnsafe");
+        f.setAccessible(true);
+        Object unsafe = f.get(null);
+        Object offset = unsafeClass.getMethod("objectFieldOffset", Field.class)
+                .invoke(unsafe, Buffer.class.getDeclaredField("address"));
+        return (long)unsafeClass.getMethod("getLong", Object.class, long.class).invoke(unsafe, direct, offset);
+    }
+
     private long dateTime(int year, Month month, int day, int hour, int minute, int second, int nanosecond) {
         return HdDateTimeUtils.newInstance(year, month, day, hour, minute, second, nanosecond);
     }
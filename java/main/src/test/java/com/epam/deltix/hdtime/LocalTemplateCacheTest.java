@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalTemplateCacheTest {
+    @Test
+    public void testLru() {
+        LocalTemplateCache<Integer> cache = new LocalTemplateCache<>(4);
+        for (int i = 0; i < 4; ++i)
+            cache.put("k" + i, i);
+
+        // Equal, but not the same key instance
+        Assert.assertEquals(Integer.valueOf(0), cache.get(new String("k0")));
+        cache.put("k4", 4);
+        // k1 was the least recently used one
+        Assert.assertNull(cache.get("k1"));
+        for (int i : new int[] { 0, 2, 3, 4 })
+            Assert.assertEquals(Integer.valueOf(i), cache.get("k" + i));
+
+        Assert.assertNull(cache.get("k5"));
+        Assert.assertNull(new LocalTemplateCache<Integer>().get("k0"));
+    }
+
+    @Test
+    public void testManyFormats() throws Exception {
+        // More formats than the per-thread cache holds, all resolved correctly via the global cache
+        long dt = HdDateTimeUtils.newInstance(2001, java.time.Month.FEBRUARY, 3, 4, 5, 6);
+        for (int k = 0; k < 2; ++k) {
+            for (int i = 0; i < 3 * LocalTemplateCache.DEFAULT_SIZE; ++i) {
+                String fmt = "'" + i + "' yyyy-MM-dd HH:mm:ss";
+                Assert.assertEquals(i + " 2001-02-03 04:05:06", HdDateTimeUtils.toString(dt, fmt));
+                Assert.assertEquals(dt, HdDateTimeUtils.parse(i + " 2001-02-03 04:05:06", fmt));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 EPAM Systems, Inc
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership. Licensed under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.epam.deltix.hdtime;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TemplateCacheTest {
+    @Test
+    public void testEviction() {
+        TemplateCache<String> cache = new TemplateCache<>(16);
+        for (int i = 0; i < 16; ++i)
+            Assert.assertEquals("v" + i, cache.putIfAbsent("k" + i, "v" + i));
+
+        // Existing value is returned
+        Assert.assertEquals("v0", cache.putIfAbsent("k0", "other"));
+
+        // Entries used since the last sweep get a second chance
+        for (int i = 0; i < 8; ++i)
+            Assert.assertEquals("v" + i, cache.get("k" + i));
+
+        for (int i = 16; i < 24; ++i)
+            cache.putIfAbsent("k" + i, "v" + i);
+
+        Assert.assertEquals(16, cache.size());
+        Assert.assertEquals(8, cache.evictions());
+        for (int i = 0; i < 8; ++i)
+            Assert.assertEquals("v" + i, cache.get("k" + i));
+
+        for (int i = 8; i < 16; ++i)
+            Assert.assertNull(cache.get("k" + i));
+
+        Assert.assertEquals(16, cache.hits());
+        Assert.assertEquals(8, cache.misses());
+    }
+
+    @Test
+    public void testConcurrentMisses() throws Exception {
+        TemplateCache<String> cache = new TemplateCache<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger errors = new AtomicInteger();
+        ArrayList<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; ++t) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int i = 0; i < 10000; ++i) {
+                    String key = Integer.toString(i % 200);
+                    String value = cache.get(key);
+                    if (null == value)
+                        value = cache.putIfAbsent(key, key);
+
+                    if (!key.equals(value))
+                        errors.incrementAndGet();
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads)
+            thread.join();
+
+        Assert.assertEquals(0, errors.get());
+        Assert.assertTrue(cache.toString(), cache.size() <= 64);
+        Assert.assertEquals(8 * 10000, cache.hits() + cache.misses());
+    }
+
+    @Test
+    public void testFormattersAreCached() throws Exception {
+        String fmt = "yyyy'-cache-test-'MM";
+        TemplateCacheStats stats = HdDateTimeUtils.getFormatTemplateCacheStats();
+        Assert.assertEquals("2000-cache-test-01", HdDateTimeUtils.toString(HdDateTimeUtils.newInstance(2000, java.time.Month.JANUARY, 1), fmt));
+        Assert.assertEquals(stats.getMisses() + 1, HdDateTimeUtils.getFormatTemplateCacheStats().getMisses());
+        // Another thread finds the template in the global cache
+        Thread thread = new Thread(() -> HdDateTimeUtils.toString(0, fmt));
+        thread.start();
+        thread.join();
+        TemplateCacheStats after = HdDateTimeUtils.getFormatTemplateCacheStats();
+        Assert.assertEquals(stats.getMisses() + 1, after.getMisses());
+        Assert.assertEquals(stats.getHits() + 1, after.getHits());
+        Assert.assertEquals(TemplateCache.DEFAULT_CAPACITY, after.getCapacity());
+        Assert.assertTrue(after.getSize() >= 1 && after.getSize() <= after.getCapacity());
+        Assert.assertEquals(Formatters.Context.globalDtTemplateCache.toString(), after.toString());
+    }
+
+    @Test
+    public void testParsersAreCached() throws Exception {
+        String fmt = "HH'-cache-test-'mm";
+        TemplateCacheStats stats = HdTimeSpanUtils.getParseTemplateCacheStats();
+        Assert.assertEquals(HdTimeSpanUtils.newInstance(0, 12, 34, 0), HdTimeSpanUtils.parse("12-cache-test-34", fmt));
+        Assert.assertEquals(stats.getMisses() + 1, HdTimeSpanUtils.getParseTemplateCacheStats().getMisses());
+        // DateTime templates are cached separately
+        Assert.assertEquals(Parsers.Context.globalDtTemplateCache.misses(),
+                HdDateTimeUtils.getParseTemplateCacheStats().getMisses());
+    }
+}
\ No newline at end of file